@@ -0,0 +1,77 @@
+package com.kenny.automation.Config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * ApiConnectionStats mencatat jumlah request API dan jumlah koneksi TCP baru yang dibuka,
+ * untuk memastikan koneksi keep-alive benar-benar dipakai ulang antar test (handshake TCP/TLS
+ * tidak dibayar di setiap test).
+ * <p>
+ * Ringkasan dicetak di console di akhir suite oleh {@code TestListeners.onFinish}, contoh:
+ * </p>
+ * <pre>
+ * [API-POOL] transport=restassured requests=120 connections=4 reused=96.7%
+ * </pre>
+ * Koneksi hanya bisa dihitung untuk transport {@code restassured}; pool HttpClient JDK tidak
+ * menyediakan hook, sehingga untuk transport {@code jdk} hanya jumlah request yang dicetak.
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ApiConnectionStats {
+
+    private static final AtomicLong REQUESTS = new AtomicLong();
+    private static final AtomicLong CONNECTIONS = new AtomicLong();
+
+    /**
+     * Mencatat satu request yang dikirim.
+     */
+    public static void requestSent() {
+        REQUESTS.incrementAndGet();
+    }
+
+    /**
+     * Mencatat satu koneksi TCP (dan handshake TLS jika https) yang baru dibuka.
+     */
+    public static void connectionOpened() {
+        CONNECTIONS.incrementAndGet();
+    }
+
+    public static long requests() {
+        return REQUESTS.get();
+    }
+
+    public static long connections() {
+        return CONNECTIONS.get();
+    }
+
+    /**
+     * Persentase request yang memakai koneksi yang sudah terbuka.
+     */
+    public static double reuseRatio() {
+        long requests = REQUESTS.get();
+        if (requests == 0) return 0;
+        return Math.max(0, (double) (requests - CONNECTIONS.get()) / requests);
+    }
+
+    /**
+     * Mencetak ringkasan ke console. Tidak mencetak apa pun jika tidak ada request API.
+     */
+    public static void printSummary() {
+        long requests = REQUESTS.get();
+        if (requests == 0) return;
+
+        String transport = ConfigLoader.getOrDefault("API_TRANSPORT", "restassured");
+        if (CONNECTIONS.get() == 0) {
+            System.out.println("[API-POOL] transport=" + transport + " requests=" + requests
+                    + " connections=n/a");
+            return;
+        }
+        System.out.println("[API-POOL] transport=" + transport
+                + " requests=" + requests
+                + " connections=" + CONNECTIONS.get()
+                + String.format(" reused=%.1f%%", reuseRatio() * 100));
+    }
+}
@@ -0,0 +1,279 @@
+package com.kenny.automation.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * BrowserContextDriverFactory membuat sesi browser yang masing-masing hidup di
+ * <i>browser context</i> DevTools terpisah di dalam satu proses Chrome yang sama.
+ * <p>
+ * Setiap browser context memiliki cookies, storage dan cache sendiri (seperti profil incognito
+ * terpisah), sehingga test tetap terisolasi tetapi tidak membutuhkan satu proses Chrome per thread.
+ * Satu proses Chrome ("host") melayani maksimal {@code CONTEXTS_PER_BROWSER} context (default 8);
+ * jika penuh, host baru dijalankan. Host baru dipesan di bawah lock lalu dijalankan di luar lock,
+ * sehingga thread lain tetap bisa memakai/melepas host yang sudah ada selama Chrome baru start.
+ * </p>
+ * <p>
+ * Setiap context mendapat sesi chromedriver sendiri yang di-attach ke host lewat
+ * <code>debuggerAddress</code> dan di-switch ke tab milik context tersebut, sehingga setiap thread
+ * tetap punya {@link WebDriver} sendiri. {@link WebDriver#getWindowHandles()} hanya mengembalikan
+ * tab milik context itu, dan {@link WebDriver#quit()} membuang context tanpa menutup host.
+ * </p>
+ * Diaktifkan dari {@code BaseTest} dengan {@code BROWSER_ISOLATION=context}.
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class BrowserContextDriverFactory implements DriverFactory {
+
+    private static final Duration CDP_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Semua host Chrome yang sedang berjalan, dari semua profil. */
+    private static final List<ContextHost> HOSTS = new ArrayList<>();
+
+    private final ChromeDriverFactory hostFactory;
+
+    public BrowserContextDriverFactory(ChromeProfile profile) {
+        this.hostFactory = new ChromeDriverFactory(profile);
+    }
+
+    public ChromeProfile getProfile() {
+        return hostFactory.getProfile();
+    }
+
+    @Override
+    public String poolKey() {
+        return getClass().getName() + ":" + getProfile();
+    }
+
+    @Override
+    public WebDriver createDriver() {
+        ContextHost host = leaseHost();
+        String contextId = null;
+        try {
+            contextId = host.createContext();
+            String targetId = host.createTarget(contextId);
+
+            long start = System.currentTimeMillis();
+            ChromeOptions options = new ChromeOptions();
+            options.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+            ContextDriver driver = new ContextDriver(options, host, contextId);
+            driver.switchTo().window(targetId);
+            DriverStartupStats.record(System.currentTimeMillis() - start);
+
+            if (getProfile() == ChromeProfile.PERFORMANCE) {
+                ChromeDriverFactory.blockNonEssentialRequests(driver);
+            }
+            NetworkArchive.attach(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            if (contextId != null) host.disposeContext(contextId);
+            else host.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Memilih host dengan profil yang sama yang masih punya slot, atau menjalankan host baru.
+     * Host baru langsung didaftarkan (slot sudah terhitung) sebelum Chrome dijalankan; thread lain
+     * yang mendapat host yang sedang start menunggu host tersebut siap.
+     */
+    private ContextHost leaseHost() {
+        int capacity = Math.max(1, ConfigLoader.getInt("CONTEXTS_PER_BROWSER", 8));
+        ContextHost host = null;
+        int number = 0;
+        synchronized (HOSTS) {
+            for (ContextHost candidate : HOSTS) {
+                if (candidate.profile == getProfile() && candidate.active < capacity) {
+                    host = candidate;
+                    break;
+                }
+            }
+            if (host == null) {
+                host = new ContextHost(getProfile());
+                HOSTS.add(host);
+                number = HOSTS.size();
+            }
+            host.active++;
+        }
+
+        if (number == 0) {
+            host.awaitStarted();
+            return host;
+        }
+
+        // Chrome dijalankan di luar lock HOSTS
+        try {
+            host.start((ChromeDriver) hostFactory.createDriver());
+        } catch (RuntimeException e) {
+            synchronized (HOSTS) {
+                HOSTS.remove(host);
+            }
+            host.started.completeExceptionally(e);
+            throw e;
+        }
+        System.out.println("[CONTEXT] Host Chrome #" + number + " (" + getProfile()
+                + ") started at " + host.debuggerAddress + ", max " + capacity + " context");
+        return host;
+    }
+
+    /**
+     * Menutup semua host Chrome. Dipanggil di akhir suite setelah semua sesi context ditutup.
+     */
+    public static void shutdownHosts() {
+        synchronized (HOSTS) {
+            for (ContextHost host : HOSTS) {
+                host.close();
+            }
+            HOSTS.clear();
+        }
+    }
+
+    /**
+     * Satu proses Chrome beserta koneksi DevTools level browser untuk mengelola context.
+     */
+    private static final class ContextHost {
+
+        private final ChromeProfile profile;
+        /** Selesai ketika Chrome host siap; field di bawah hanya dibaca setelah future ini selesai. */
+        private final CompletableFuture<Void> started = new CompletableFuture<>();
+        private ChromeDriver driver;
+        private Connection connection;
+        private String debuggerAddress;
+        private int active;
+
+        ContextHost(ChromeProfile profile) {
+            this.profile = profile;
+        }
+
+        void start(ChromeDriver driver) {
+            try {
+                this.connection = SeleniumCdpConnection.create(driver)
+                        .orElseThrow(() -> new IllegalStateException("Chrome host tidak mendukung DevTools"));
+
+                @SuppressWarnings("unchecked")
+                Map<String, Object> chromeOptions = (Map<String, Object>) driver.getCapabilities().getCapability("goog:chromeOptions");
+                this.debuggerAddress = (String) chromeOptions.get("debuggerAddress");
+            } catch (RuntimeException e) {
+                driver.quit();
+                throw e;
+            }
+            this.driver = driver;
+            started.complete(null);
+        }
+
+        void awaitStarted() {
+            try {
+                started.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Host Chrome gagal dijalankan", e.getCause());
+            }
+        }
+
+        String createContext() {
+            Map<String, Object> params = new HashMap<>();
+            params.put("disposeOnDetach", false);
+            return (String) send("Target.createBrowserContext", params).get("browserContextId");
+        }
+
+        String createTarget(String contextId) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("url", "about:blank");
+            params.put("browserContextId", contextId);
+            params.put("newWindow", true);
+            return (String) send("Target.createTarget", params).get("targetId");
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pageTargets(String contextId) {
+            Set<String> targets = new LinkedHashSet<>();
+            List<Map<String, Object>> infos = (List<Map<String, Object>>) send("Target.getTargets", new HashMap<>()).get("targetInfos");
+            for (Map<String, Object> info : infos) {
+                if ("page".equals(info.get("type")) && contextId.equals(info.get("browserContextId"))) {
+                    targets.add((String) info.get("targetId"));
+                }
+            }
+            return targets;
+        }
+
+        void disposeContext(String contextId) {
+            try {
+                Map<String, Object> params = new HashMap<>();
+                params.put("browserContextId", contextId);
+                send("Target.disposeBrowserContext", params);
+            } catch (RuntimeException e) {
+                System.out.println("[CONTEXT] Gagal membuang browser context: " + e.getMessage());
+            } finally {
+                release();
+            }
+        }
+
+        void release() {
+            synchronized (HOSTS) {
+                active--;
+            }
+        }
+
+        private Map<String, Object> send(String method, Map<String, Object> params) {
+            // Tanpa session id: command dikirim ke target browser, bukan ke tab
+            return connection.sendAndWait(null, new Command<Map<String, Object>>(method, params, Map.class), CDP_TIMEOUT);
+        }
+
+        void close() {
+            if (!started.isDone() || started.isCompletedExceptionally()) return;
+            try {
+                connection.close();
+                driver.quit();
+            } catch (Exception e) {
+                System.out.println("Warning during host quit: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sesi chromedriver yang di-attach ke host dan dibatasi pada satu browser context.
+     */
+    private static final class ContextDriver extends ChromeDriver {
+
+        private final ContextHost host;
+        private final String contextId;
+
+        ContextDriver(ChromeOptions options, ContextHost host, String contextId) {
+            super(SharedChromeDriverService.getOrStart(), options);
+            this.host = host;
+            this.contextId = contextId;
+        }
+
+        /** Hanya tab milik context ini; tab milik thread lain di host yang sama tidak terlihat. */
+        @Override
+        public Set<String> getWindowHandles() {
+            return host.pageTargets(contextId);
+        }
+
+        /** Melepas sesi chromedriver (host tetap hidup) lalu membuang context beserta tab-nya. */
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                host.disposeContext(contextId);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kenny.automation.Config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Memilih {@link ChromeProfile} untuk sebuah test class. Anotasi ini lebih diutamakan
+ * daripada parameter suite {@code BROWSER_PROFILE}, tetapi kalah dari <code>-DBROWSER_PROFILE=...</code>.
+ *
+ * <pre>
+ * &commat;BrowserProfile(ChromeProfile.FULL)
+ * public class VisualTest extends BaseTest { ... }
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BrowserProfile {
+
+    ChromeProfile value();
+}
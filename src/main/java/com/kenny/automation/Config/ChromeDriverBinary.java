@@ -0,0 +1,104 @@
+package com.kenny.automation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * ChromeDriverBinary me-resolve lokasi binary chromedriver satu kali per JVM.
+ * <p>
+ * Binary di-download oleh WebDriverManager ke cache di disk
+ * ({@code CHROMEDRIVER_CACHE_DIR}, default <code>~/.cache/selenium-wdm</code>) dan
+ * path terakhir yang berhasil dicatat di file <code>chromedriver.path</code> di cache
+ * tersebut. Jika resolve online gagal (misalnya CI tanpa internet), path yang tercatat
+ * akan digunakan sehingga run offline tetap berjalan.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ChromeDriverBinary {
+
+    private static final String RECORD_FILE = "chromedriver.path";
+
+    private static volatile File resolved;
+
+    /**
+     * Mengembalikan binary chromedriver, me-resolve-nya jika belum pernah dilakukan di JVM ini.
+     *
+     * @return file executable chromedriver
+     * @throws IllegalStateException jika binary tidak bisa di-resolve online maupun dari cache
+     */
+    public static File get() {
+        File binary = resolved;
+        if (binary == null) {
+            synchronized (ChromeDriverBinary.class) {
+                binary = resolved;
+                if (binary == null) {
+                    binary = resolve();
+                    System.setProperty("webdriver.chrome.driver", binary.getAbsolutePath());
+                    resolved = binary;
+                }
+            }
+        }
+        return binary;
+    }
+
+    private static File resolve() {
+        String explicit = System.getProperty("webdriver.chrome.driver");
+        if (explicit != null && new File(explicit).canExecute()) {
+            return new File(explicit);
+        }
+
+        Path cacheDir = Paths.get(ConfigLoader.getOrDefault("CHROMEDRIVER_CACHE_DIR",
+                System.getProperty("user.home") + "/.cache/selenium-wdm"));
+        Path record = cacheDir.resolve(RECORD_FILE);
+
+        if (!ConfigLoader.getBoolean("CHROMEDRIVER_OFFLINE", false)) {
+            try {
+                WebDriverManager wdm = WebDriverManager.chromedriver().cachePath(cacheDir.toString());
+                wdm.setup();
+                File downloaded = new File(wdm.getDownloadedDriverPath());
+                writeRecord(record, downloaded);
+                System.out.println("[CHROMEDRIVER] Resolved: " + downloaded);
+                return downloaded;
+            } catch (Exception e) {
+                System.out.println("[CHROMEDRIVER] Resolve online gagal (" + e.getMessage() + "), mencoba cache lokal.");
+            }
+        }
+
+        File cached = readRecord(record);
+        if (cached == null) {
+            throw new IllegalStateException("chromedriver tidak ditemukan di cache " + record
+                    + ". Jalankan sekali dengan koneksi internet untuk mengisi cache.");
+        }
+        System.out.println("[CHROMEDRIVER] Menggunakan binary dari cache: " + cached);
+        return cached;
+    }
+
+    private static void writeRecord(Path record, File binary) {
+        try {
+            Files.createDirectories(record.getParent());
+            Files.write(record, binary.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("[CHROMEDRIVER] Gagal menyimpan path ke cache: " + e.getMessage());
+        }
+    }
+
+    private static File readRecord(Path record) {
+        try {
+            if (!Files.exists(record)) return null;
+            File binary = new File(new String(Files.readAllBytes(record), StandardCharsets.UTF_8).trim());
+            return binary.canExecute() ? binary : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -1,25 +1,64 @@
 package com.kenny.automation.Config;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
-import io.github.bonigarcia.wdm.WebDriverManager;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
 public class ChromeDriverFactory implements DriverFactory {
 
+    private final ChromeProfile profile;
+
+    /** Factory dengan profil dari setting {@code BROWSER_PROFILE} (default FULL). */
+    public ChromeDriverFactory() {
+        this(ChromeProfile.from(ConfigLoader.getOrDefault("BROWSER_PROFILE", "full")));
+    }
+
+    public ChromeDriverFactory(ChromeProfile profile) {
+        this.profile = profile;
+    }
+
+    public ChromeProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public String poolKey() {
+        return getClass().getName() + ":" + profile;
+    }
+
     @Override
     public WebDriver createDriver() {
-    	
-    	WebDriverManager.chromedriver().setup();
-    	
+
+    	// Binary chromedriver di-resolve sekali per JVM (dengan cache di disk untuk run offline)
+    	ChromeDriverBinary.get();
+
         // Nonaktifkan logging yang tidak perlu
         System.setProperty("webdriver.chrome.silentOutput", "true");
         System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "off");
 
         ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
+        if (profile == ChromeProfile.PERFORMANCE) {
+            // Viewport kecil & tetap, tanpa gambar dan web font
+            Dimension viewport = profile.viewport();
+            options.addArguments("--window-size=" + viewport.getWidth() + "," + viewport.getHeight());
+            options.addArguments("--blink-settings=imagesEnabled=false");
+            options.addArguments("--disable-remote-fonts");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-sync");
+            options.addArguments("--mute-audio");
+        } else {
+            options.addArguments("--start-maximized");
+        }
         options.addArguments("--disable-notifications");
         options.addArguments("--disable-infobars");
         options.addArguments("--disable-extensions");
@@ -30,10 +69,12 @@ public class ChromeDriverFactory implements DriverFactory {
         // Headless mode jika dijalankan di Jenkins
         String browserMode = System.getProperty("BROWSER_MODE", "normal");
         if ("headless".equalsIgnoreCase(browserMode)) {
-        	
+
             options.addArguments("--headless"); // new headless di Chrome >109
-            
-            options.addArguments("--window-size=1920,1080");
+
+            if (profile != ChromeProfile.PERFORMANCE) {
+                options.addArguments("--window-size=1920,1080");
+            }
             options.addArguments("--disable-gpu");
             options.addArguments("--no-sandbox");
             options.addArguments("--disable-dev-shm-usage");
@@ -43,10 +84,70 @@ public class ChromeDriverFactory implements DriverFactory {
         Map<String, Object> prefs = new HashMap<>();
         prefs.put("credentials_enable_service", false);
         prefs.put("profile.password_manager_enabled", false);
+        if (profile == ChromeProfile.PERFORMANCE) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
         options.setExperimentalOption("prefs", prefs);
 
-     
+        long start = System.currentTimeMillis();
+        WebDriver driver;
+        if (isSharedService()) {
+            // Satu proses chromedriver melayani semua sesi di JVM ini
+            driver = new ChromeDriver(SharedChromeDriverService.getOrStart(), options);
+        } else {
+            driver = new ChromeDriver(options);
+            DriverStartupStats.serviceStarted();
+        }
+        DriverStartupStats.record(System.currentTimeMillis() - start);
+
+        if (profile == ChromeProfile.PERFORMANCE) {
+            blockNonEssentialRequests((ChromeDriver) driver);
+        }
+
+        // Record/replay network jika NETWORK_MODE aktif
+        NetworkArchive.attach(driver);
+        return driver;
+    }
+
+    /**
+     * Memblokir gambar, web font dan request third-party/analytics lewat DevTools.
+     * Pola tambahan bisa diberikan lewat {@code PERF_BLOCKED_URLS} (dipisah koma).
+     */
+    static void blockNonEssentialRequests(ChromeDriver driver) {
+        List<String> patterns = new ArrayList<>(ChromeProfile.BLOCKED_URL_PATTERNS);
+        String extra = ConfigLoader.getOrDefault("PERF_BLOCKED_URLS", "");
+        for (String pattern : extra.split(",")) {
+            if (!pattern.trim().isEmpty()) patterns.add(pattern.trim());
+        }
+
+        try {
+            driver.executeCdpCommand("Network.enable", new HashMap<>());
+            Map<String, Object> params = new HashMap<>();
+            params.put("urls", patterns);
+            driver.executeCdpCommand("Network.setBlockedURLs", params);
+        } catch (Exception e) {
+            System.out.println("[WARNING] Gagal mengaktifkan network blocking: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mode service chromedriver: {@code shared} (default, satu proses per JVM) atau
+     * {@code per-session} (satu proses chromedriver per sesi, perilaku lama).
+     */
+    private static String serviceMode() {
+        return ConfigLoader.getOrDefault("CHROMEDRIVER_SERVICE", "shared").toLowerCase();
+    }
+
+    private static boolean isSharedService() {
+        return "shared".equals(serviceMode());
+    }
 
-        return new ChromeDriver(options);
+    /**
+     * Mencetak statistik startup sesi dan menghentikan shared chromedriver service.
+     * Harus dipanggil setelah semua driver ditutup.
+     */
+    public static void shutdown() {
+        DriverStartupStats.printSummary(serviceMode());
+        SharedChromeDriverService.shutdownShared();
     }
 }
@@ -0,0 +1,63 @@
+package com.kenny.automation.Config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openqa.selenium.Dimension;
+
+/**
+ * Profil browser Chrome yang bisa dipilih per suite (parameter TestNG
+ * {@code BROWSER_PROFILE}) atau per test class (anotasi {@link BrowserProfile}).
+ * <ul>
+ *   <li>{@link #FULL} - browser dengan render lengkap dan window maximize. Gunakan untuk visual test.</li>
+ *   <li>{@link #PERFORMANCE} - browser ringan: gambar, web font dan request third-party/analytics
+ *       diblokir, dengan viewport kecil yang tetap. Gunakan untuk functional test.</li>
+ * </ul>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public enum ChromeProfile {
+
+    FULL(null),
+    PERFORMANCE(new Dimension(1280, 800));
+
+    /** Pola URL yang diblokir lewat DevTools pada profil {@link #PERFORMANCE}. */
+    static final List<String> BLOCKED_URL_PATTERNS = Arrays.asList(
+            "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico",
+            "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot",
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+            "*backtrace.io*", "*optimizely.com*", "*hotjar.com*", "*facebook.net*");
+
+    private final Dimension viewport;
+
+    ChromeProfile(Dimension viewport) {
+        this.viewport = viewport;
+    }
+
+    /**
+     * Ukuran viewport tetap untuk profil ini, atau {@code null} jika window di-maximize.
+     */
+    public Dimension viewport() {
+        return viewport;
+    }
+
+    /**
+     * Mengubah nama profil (case-insensitive) menjadi enum, default ke {@link #FULL}
+     * jika nama tidak dikenali.
+     *
+     * @param name nama profil, misalnya "performance"
+     * @return profil yang sesuai
+     */
+    public static ChromeProfile from(String name) {
+        if (name != null) {
+            for (ChromeProfile profile : values()) {
+                if (profile.name().equalsIgnoreCase(name.trim())) {
+                    return profile;
+                }
+            }
+            System.err.println(" Browser profile '" + name + "' tidak dikenali. Default ke FULL.");
+        }
+        return FULL;
+    }
+}
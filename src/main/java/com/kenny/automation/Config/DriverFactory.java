@@ -5,4 +5,12 @@ import org.openqa.selenium.WebDriver;
 public interface DriverFactory {
 
 	 WebDriver createDriver();
+
+	 /**
+	  * Key untuk mengelompokkan driver di {@link WebDriverPool}. Factory dengan
+	  * konfigurasi browser yang berbeda harus mengembalikan key yang berbeda.
+	  */
+	 default String poolKey() {
+		 return getClass().getName();
+	 }
 }
@@ -0,0 +1,167 @@
+package com.kenny.automation.Config;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * DriverPrewarmer membuat sesi browser berikutnya di background selama test
+ * sedang berjalan, sehingga {@link WebDriverManager#initDriver(DriverFactory)} untuk
+ * test berikutnya bisa langsung mendapat sesi yang sudah siap.
+ * <p>
+ * Jumlah sesi spekulatif dibatasi per worker thread melalui {@code PREWARM_PER_WORKER}
+ * (default 1). Sesi yang tidak terpakai ditutup di akhir suite oleh
+ * {@link #discardAll()}. Jika pooling aktif, prewarm dilakukan oleh {@link WebDriverPool#prewarm()}
+ * sehingga sesi ikut dihitung dalam batas pool. Prewarming bisa dimatikan dengan {@code -DPREWARM_ENABLED=false}.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class DriverPrewarmer {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "webdriver-prewarm");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Sesi spekulatif per worker, key = nama thread + pool key factory. */
+    private static final Map<String, Deque<Future<WebDriver>>> WARM = new ConcurrentHashMap<>();
+
+    /** Naik setiap {@link #discardAll()}, sesi dari generasi lama langsung ditutup. */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    public static boolean isEnabled() {
+        return ConfigLoader.getBoolean("PREWARM_ENABLED", true);
+    }
+
+    private static int perWorkerCap() {
+        return Math.max(0, ConfigLoader.getInt("PREWARM_PER_WORKER", 1));
+    }
+
+    /**
+     * Mulai membuat sesi baru di background untuk worker saat ini, selama jumlah
+     * sesi spekulatif worker ini belum mencapai batas.
+     *
+     * @param factory factory yang akan digunakan untuk membuat driver
+     */
+    public static void warm(DriverFactory factory) {
+        if (!isEnabled()) return;
+
+        Deque<Future<WebDriver>> queue = WARM.computeIfAbsent(workerKey(factory), k -> new ConcurrentLinkedDeque<>());
+        if (queue.size() >= perWorkerCap()) return;
+
+        int generation = GENERATION.get();
+        queue.offerLast(EXECUTOR.submit(() -> {
+            WebDriver created = factory.createDriver();
+            if (generation != GENERATION.get()) {
+                created.quit();
+                return null;
+            }
+            return created;
+        }));
+    }
+
+    /**
+     * Menjalankan tugas pembuatan driver di thread prewarm, dipakai oleh {@link WebDriverPool#prewarm()}.
+     */
+    static void submit(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+
+    /**
+     * Mengambil sesi yang sudah di-prewarm untuk worker saat ini. Jika tidak ada,
+     * sesi yang sudah selesai dibuat milik worker lain akan dipakai, dan jika tetap
+     * tidak ada maka driver baru dibuat secara langsung.
+     *
+     * @param factory factory yang digunakan jika tidak ada sesi siap pakai
+     * @return WebDriver yang siap dipakai
+     */
+    public static WebDriver take(DriverFactory factory) {
+        Deque<Future<WebDriver>> own = WARM.get(workerKey(factory));
+        WebDriver warmed = own == null ? null : pollReady(own, true);
+
+        if (warmed == null) {
+            String suffix = "|" + factory.poolKey();
+            for (Map.Entry<String, Deque<Future<WebDriver>>> entry : WARM.entrySet()) {
+                if (entry.getKey().endsWith(suffix) && (warmed = pollReady(entry.getValue(), false)) != null) {
+                    break;
+                }
+            }
+        }
+
+        if (warmed != null) {
+            System.out.println("[PREWARM] Menggunakan sesi browser yang sudah di-prewarm: " + factory.poolKey());
+            return warmed;
+        }
+        return factory.createDriver();
+    }
+
+    /**
+     * Menutup semua sesi spekulatif yang belum terpakai. Dipanggil di akhir suite.
+     */
+    public static void discardAll() {
+        GENERATION.incrementAndGet();
+        for (Deque<Future<WebDriver>> queue : WARM.values()) {
+            Future<WebDriver> future;
+            while ((future = queue.pollFirst()) != null) {
+                if (future.isDone()) {
+                    WebDriver unused = resolve(future);
+                    if (unused != null) {
+                        try {
+                            unused.quit();
+                        } catch (Exception e) {
+                            System.out.println("[PREWARM] Warning saat quit driver: " + e.getMessage());
+                        }
+                    }
+                }
+                // Sesi yang masih dibuat akan ditutup sendiri karena generasinya sudah lama
+            }
+        }
+        WARM.clear();
+    }
+
+    /**
+     * Mengambil sesi dari antrian. Untuk antrian milik sendiri, sesi yang masih dibuat
+     * ditunggu hingga selesai karena lebih cepat daripada membuat sesi baru dari awal.
+     */
+    private static WebDriver pollReady(Deque<Future<WebDriver>> queue, boolean waitIfPending) {
+        Iterator<Future<WebDriver>> it = queue.iterator();
+        while (it.hasNext()) {
+            Future<WebDriver> future = it.next();
+            if ((waitIfPending || future.isDone()) && queue.remove(future)) {
+                WebDriver driver = resolve(future);
+                if (driver != null) return driver;
+            }
+        }
+        return null;
+    }
+
+    private static WebDriver resolve(Future<WebDriver> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.out.println("[PREWARM] Gagal membuat sesi di background: " + e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private static String workerKey(DriverFactory factory) {
+        return Thread.currentThread().getName() + "|" + factory.poolKey();
+    }
+}
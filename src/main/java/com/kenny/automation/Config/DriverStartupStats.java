@@ -0,0 +1,62 @@
+package com.kenny.automation.Config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DriverStartupStats mencatat waktu startup setiap sesi browser dan jumlah proses
+ * chromedriver yang dijalankan, agar mode {@code CHROMEDRIVER_SERVICE=shared} bisa
+ * dibandingkan dengan mode {@code per-session}.
+ * <p>
+ * Ringkasan dicetak di console di akhir suite oleh {@link WebDriverManager#shutdown()}, contoh:
+ * </p>
+ * <pre>
+ * [DRIVER-STATS] mode=shared sessions=24 avg=812ms min=640ms max=1904ms chromedriver processes=1
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class DriverStartupStats {
+
+    private static final AtomicLong SESSIONS = new AtomicLong();
+    private static final AtomicLong TOTAL_MS = new AtomicLong();
+    private static final AtomicLong MIN_MS = new AtomicLong(Long.MAX_VALUE);
+    private static final AtomicLong MAX_MS = new AtomicLong();
+    private static final AtomicLong SERVICE_PROCESSES = new AtomicLong();
+
+    /**
+     * Mencatat satu sesi yang berhasil dibuat.
+     *
+     * @param elapsedMs durasi pembuatan sesi dalam milidetik
+     */
+    public static void record(long elapsedMs) {
+        SESSIONS.incrementAndGet();
+        TOTAL_MS.addAndGet(elapsedMs);
+        MIN_MS.accumulateAndGet(elapsedMs, Math::min);
+        MAX_MS.accumulateAndGet(elapsedMs, Math::max);
+    }
+
+    /**
+     * Mencatat satu proses chromedriver baru yang dijalankan.
+     */
+    public static void serviceStarted() {
+        SERVICE_PROCESSES.incrementAndGet();
+    }
+
+    /**
+     * Mencetak ringkasan statistik startup ke console.
+     *
+     * @param mode mode service chromedriver yang digunakan
+     */
+    public static void printSummary(String mode) {
+        long sessions = SESSIONS.get();
+        if (sessions == 0) return;
+
+        System.out.println("[DRIVER-STATS] mode=" + mode
+                + " sessions=" + sessions
+                + " avg=" + (TOTAL_MS.get() / sessions) + "ms"
+                + " min=" + MIN_MS.get() + "ms"
+                + " max=" + MAX_MS.get() + "ms"
+                + " chromedriver processes=" + SERVICE_PROCESSES.get());
+    }
+}
@@ -0,0 +1,312 @@
+package com.kenny.automation.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kenny.automation.Helper.ConfigLoader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JsonPlaceholderStub adalah stub in-process untuk endpoint <code>/posts</code> JSONPlaceholder,
+ * dipakai ketika {@code API_BASE_URL=stub}.
+ * <p>
+ * Semantik mengikuti JSONPlaceholder asli: data tidak benar-benar disimpan, POST mengembalikan
+ * 201 dengan id 101, PUT/PATCH mengembalikan resource yang sudah di-update, DELETE mengembalikan
+ * <code>{}</code>, dan id yang tidak ada menghasilkan 404.
+ * </p>
+ * <p>
+ * Perilaku bisa diatur untuk benchmark client API:
+ * <ul>
+ *   <li>{@code STUB_LATENCY} - distribusi latency: <code>none</code>, <code>fixed:50</code>,
+ *       <code>uniform:10-100</code>, <code>normal:50:15</code> (mean:stddev) atau
+ *       <code>exponential:40</code> (mean), semua dalam milidetik.</li>
+ *   <li>{@code STUB_ERROR_RATE} - fraksi request (0.0 - 1.0) yang dijawab dengan
+ *       {@code STUB_ERROR_STATUS} (default 503).</li>
+ *   <li>{@code STUB_PAYLOAD_BYTES} - ukuran minimal field <code>body</code> setiap post, untuk
+ *       mensimulasikan payload besar.</li>
+ *   <li>{@code STUB_POST_COUNT} - jumlah post yang tersedia (default 100).</li>
+ * </ul>
+ * Latency disimulasikan dengan menjadwalkan pengiriman response, bukan dengan
+ * {@code Thread.sleep}, sehingga banyak request yang tertunda tidak menghabiskan thread server.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class JsonPlaceholderStub {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static HttpServer server;
+    private static ScheduledExecutorService scheduler;
+    private static String baseUrl;
+
+    private static LatencySpec latency;
+    private static double errorRate;
+    private static int errorStatus;
+    private static int postCount;
+    private static String filler;
+
+    /**
+     * Menjalankan stub jika belum berjalan. Setting dibaca sekali saat start.
+     *
+     * @return base URL stub, contoh <code>http://127.0.0.1:50123</code>
+     */
+    public static synchronized String start() {
+        if (server != null) return baseUrl;
+
+        latency = LatencySpec.parse(ConfigLoader.getOrDefault("STUB_LATENCY", "none"));
+        errorRate = parseErrorRate(ConfigLoader.getOrDefault("STUB_ERROR_RATE", "0"));
+        errorStatus = ConfigLoader.getInt("STUB_ERROR_STATUS", 503);
+        postCount = ConfigLoader.getInt("STUB_POST_COUNT", 100);
+        filler = buildFiller(ConfigLoader.getInt("STUB_PAYLOAD_BYTES", 0));
+
+        try {
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            HttpServer httpServer = LoopbackHttpServer.create(ConfigLoader.getInt("STUB_PORT", 0));
+            httpServer.createContext("/posts", JsonPlaceholderStub::handle);
+
+            scheduler = Executors.newScheduledThreadPool(ConfigLoader.getInt("STUB_THREADS", 8), r -> {
+                Thread t = new Thread(r, "jsonplaceholder-stub");
+                t.setDaemon(true);
+                return t;
+            });
+            httpServer.setExecutor(scheduler);
+            httpServer.start();
+
+            server = httpServer;
+            baseUrl = "http://" + loopback.getHostAddress() + ":" + httpServer.getAddress().getPort();
+            System.out.println("[API-STUB] JSONPlaceholder stub started at " + baseUrl
+                    + " latency=" + latency + " errorRate=" + errorRate + " payloadBytes=" + filler.length());
+            return baseUrl;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menjalankan JSONPlaceholder stub", e);
+        }
+    }
+
+    /**
+     * Menghentikan stub jika sedang berjalan.
+     */
+    public static synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        scheduler.shutdownNow();
+        server = null;
+        baseUrl = null;
+        System.out.println("[API-STUB] JSONPlaceholder stub stopped");
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] requestBody;
+        try (InputStream in = exchange.getRequestBody()) {
+            requestBody = in.readAllBytes();
+        }
+
+        int status;
+        Object payload;
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            status = errorStatus;
+            payload = Map.of("error", "injected fault");
+        } else {
+            Object[] result = route(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), requestBody);
+            status = (Integer) result[0];
+            payload = result[1];
+        }
+
+        byte[] body = MAPPER.writeValueAsBytes(payload);
+        long delayMs = latency.next();
+        if (delayMs <= 0) {
+            send(exchange, status, body);
+        } else {
+            scheduler.schedule(() -> send(exchange, status, body), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Object[] route(String method, String path, byte[] requestBody) throws IOException {
+        String[] parts = path.replaceAll("/+$", "").split("/");
+        // parts: ["", "posts"] atau ["", "posts", "{id}"]
+        if (parts.length == 2) {
+            if ("GET".equals(method)) {
+                List<Map<String, Object>> posts = new ArrayList<>(postCount);
+                for (int id = 1; id <= postCount; id++) posts.add(post(id));
+                return new Object[] { 200, posts };
+            }
+            if ("POST".equals(method)) {
+                Map<String, Object> created = new LinkedHashMap<>(readJson(requestBody));
+                created.put("id", postCount + 1);
+                return new Object[] { 201, created };
+            }
+            return new Object[] { 404, Map.of() };
+        }
+
+        if (parts.length != 3) return new Object[] { 404, Map.of() };
+        int id;
+        try {
+            id = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return new Object[] { 404, Map.of() };
+        }
+        boolean exists = id >= 1 && id <= postCount;
+
+        switch (method) {
+            case "GET":
+                return exists ? new Object[] { 200, post(id) } : new Object[] { 404, Map.of() };
+            case "PUT": {
+                if (!exists) return new Object[] { 500, Map.of() };
+                Map<String, Object> updated = new LinkedHashMap<>(readJson(requestBody));
+                updated.put("id", id);
+                return new Object[] { 200, updated };
+            }
+            case "PATCH": {
+                Map<String, Object> patched = post(id);
+                patched.putAll(readJson(requestBody));
+                return new Object[] { 200, patched };
+            }
+            case "DELETE":
+                return new Object[] { 200, Map.of() };
+            default:
+                return new Object[] { 404, Map.of() };
+        }
+    }
+
+    private static Map<String, Object> post(int id) {
+        Map<String, Object> post = new LinkedHashMap<>();
+        post.put("userId", (id - 1) / 10 + 1);
+        post.put("id", id);
+        post.put("title", "stub post " + id);
+        post.put("body", "stub body " + id + filler);
+        return post;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readJson(byte[] body) throws IOException {
+        if (body.length == 0) return new LinkedHashMap<>();
+        return MAPPER.readValue(body, LinkedHashMap.class);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            System.err.println("[API-STUB] Gagal mengirim response: " + e.getMessage());
+        }
+    }
+
+    /** Fraksi error 0.0 - 1.0; nilai di luar rentang di-clamp, nilai yang bukan angka jatuh ke 0. */
+    private static double parseErrorRate(String value) {
+        double rate;
+        try {
+            rate = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("STUB_ERROR_RATE '" + value + "' tidak valid. Default ke 0.");
+            return 0;
+        }
+        if (Double.isNaN(rate) || rate < 0 || rate > 1) {
+            double clamped = Double.isNaN(rate) ? 0 : Math.max(0, Math.min(1, rate));
+            System.err.println("STUB_ERROR_RATE '" + value + "' di luar rentang 0.0 - 1.0. Memakai " + clamped + ".");
+            return clamped;
+        }
+        return rate;
+    }
+
+    private static String buildFiller(int bytes) {
+        if (bytes <= 0) return "";
+        StringBuilder sb = new StringBuilder(bytes + 1).append(' ');
+        while (sb.length() < bytes) sb.append("lorem ipsum dolor sit amet ");
+        return sb.substring(0, bytes);
+    }
+
+    /**
+     * Distribusi latency yang dibaca dari {@code STUB_LATENCY}.
+     */
+    private static final class LatencySpec {
+
+        private final String type;
+        private final double a;
+        private final double b;
+
+        private LatencySpec(String type, double a, double b) {
+            this.type = type;
+            this.a = a;
+            this.b = b;
+        }
+
+        static LatencySpec parse(String spec) {
+            String[] parts = spec.trim().toLowerCase().split("[:\\-]");
+            try {
+                switch (parts[0]) {
+                    case "none":
+                        return new LatencySpec("none", 0, 0);
+                    case "fixed":
+                        return new LatencySpec("fixed", Double.parseDouble(parts[1]), 0);
+                    case "uniform":
+                        return new LatencySpec("uniform", Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                    case "normal":
+                        return new LatencySpec("normal", Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                    case "exponential":
+                        return new LatencySpec("exponential", Double.parseDouble(parts[1]), 0);
+                    default:
+                        break;
+                }
+            } catch (RuntimeException e) {
+                // jatuh ke peringatan di bawah
+            }
+            System.err.println(" STUB_LATENCY '" + spec + "' tidak valid. Default ke none.");
+            return new LatencySpec("none", 0, 0);
+        }
+
+        long next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double ms;
+            switch (type) {
+                case "fixed":
+                    ms = a;
+                    break;
+                case "uniform":
+                    ms = a + random.nextDouble() * (b - a);
+                    break;
+                case "normal":
+                    ms = a + random.nextGaussian() * b;
+                    break;
+                case "exponential":
+                    ms = -a * Math.log(1 - random.nextDouble());
+                    break;
+                default:
+                    ms = 0;
+            }
+            return Math.max(0, Math.round(ms));
+        }
+
+        @Override
+        public String toString() {
+            switch (type) {
+                case "fixed":
+                case "exponential":
+                    return type + ":" + (long) a;
+                case "uniform":
+                    return type + ":" + (long) a + "-" + (long) b;
+                case "normal":
+                    return type + ":" + (long) a + ":" + (long) b;
+                default:
+                    return type;
+            }
+        }
+    }
+}
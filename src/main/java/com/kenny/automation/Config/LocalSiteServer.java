@@ -0,0 +1,157 @@
+package com.kenny.automation.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.kenny.automation.Helper.ConfigLoader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * LocalSiteServer adalah HTTP server ringan (JDK {@link HttpServer}) yang melayani
+ * stand-in statis dari saucedemo di dalam JVM yang sama dengan test.
+ * <p>
+ * Aktif ketika {@code ENVIRONMENT=LOCAL}: {@link ConfigLoader#getActiveEnvironmentUrl()}
+ * menjalankan server ini dan mengembalikan base URL-nya, sehingga suite web berjalan tanpa
+ * latency internet. Konten diambil dari folder {@code LOCAL_SITE_DIR} jika di-set, atau dari
+ * resource classpath <code>local-site/</code>. Setiap file dibaca sekali lalu disimpan di memory
+ * dan dikirim dengan Content-Length tetap.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class LocalSiteServer {
+
+    private static final String CLASSPATH_ROOT = "local-site/";
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "json", "application/json; charset=utf-8",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "ico", "image/x-icon");
+
+    /** Cache isi file; Optional.empty() berarti file tidak ada. */
+    private static final Map<String, Optional<byte[]>> CACHE = new ConcurrentHashMap<>();
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static String baseUrl;
+
+    /**
+     * Menjalankan server jika belum berjalan. Aman dipanggil berkali-kali dan dari banyak thread.
+     *
+     * @return base URL server, contoh <code>http://127.0.0.1:53412</code>
+     */
+    public static synchronized String start() {
+        if (server != null) return baseUrl;
+
+        try {
+            int port = ConfigLoader.getInt("LOCAL_SITE_PORT", 0);
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            HttpServer httpServer = LoopbackHttpServer.create(port);
+            httpServer.createContext("/", LocalSiteServer::handle);
+
+            int threads = ConfigLoader.getInt("LOCAL_SITE_THREADS", 8);
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "local-site");
+                t.setDaemon(true);
+                return t;
+            });
+            httpServer.setExecutor(executor);
+            httpServer.start();
+
+            server = httpServer;
+            baseUrl = "http://" + loopback.getHostAddress() + ":" + httpServer.getAddress().getPort();
+            System.out.println("[LOCAL-SITE] Server started at " + baseUrl);
+            return baseUrl;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menjalankan local site server", e);
+        }
+    }
+
+    /**
+     * Menghentikan server jika sedang berjalan. Dipanggil di akhir suite.
+     */
+    public static synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        baseUrl = null;
+        System.out.println("[LOCAL-SITE] Server stopped");
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/")) path += "index.html";
+            String name = path.substring(1);
+
+            Optional<byte[]> content = name.contains("..")
+                    ? Optional.empty()
+                    : CACHE.computeIfAbsent(name, LocalSiteServer::load);
+
+            if (content.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] body = content.get();
+            exchange.getResponseHeaders().set("Content-Type", contentType(name));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static Optional<byte[]> load(String name) {
+        try {
+            String dir = ConfigLoader.getOrDefault("LOCAL_SITE_DIR", null);
+            if (dir != null) {
+                Path file = Paths.get(dir, name);
+                return Files.isRegularFile(file) ? Optional.of(Files.readAllBytes(file)) : Optional.empty();
+            }
+
+            try (InputStream in = LocalSiteServer.class.getClassLoader().getResourceAsStream(CLASSPATH_ROOT + name)) {
+                return in == null ? Optional.empty() : Optional.of(in.readAllBytes());
+            }
+        } catch (IOException e) {
+            System.err.println("[LOCAL-SITE] Gagal membaca " + name + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String contentType(String name) {
+        int dot = name.lastIndexOf('.');
+        String ext = dot < 0 ? "" : name.substring(dot + 1).toLowerCase();
+        return CONTENT_TYPES.getOrDefault(ext, "application/octet-stream");
+    }
+}
@@ -0,0 +1,42 @@
+package com.kenny.automation.Config;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * LoopbackHttpServer membuat JDK {@link HttpServer} yang hanya listen di loopback, dipakai oleh
+ * {@link LocalSiteServer} dan {@link JsonPlaceholderStub}.
+ * <p>
+ * Sebelum server pertama dibuat, {@code sun.net.httpserver.nodelay} di-set ke true (kecuali sudah
+ * di-set lewat -D). Tanpa TCP_NODELAY, client keep-alive tertahan ~40ms per response karena
+ * Nagle + delayed ACK. Property ini dibaca JDK sekali saat {@link HttpServer} pertama dibuat.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+final class LoopbackHttpServer {
+
+    private LoopbackHttpServer() {
+    }
+
+    /**
+     * Membuat server di alamat loopback.
+     *
+     * @param port port, 0 untuk port bebas
+     * @return server yang belum di-start
+     */
+    static HttpServer create(int port) throws IOException {
+        enableNoDelay();
+        return HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    }
+
+    private static synchronized void enableNoDelay() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.kenny.automation.Config;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * NetworkArchive merekam dan memutar ulang (record/replay) semua HTTP response yang
+ * di-fetch browser, menggunakan interception DevTools Fetch melalui {@link NetworkInterceptor}.
+ * <p>
+ * Mode dipilih dengan {@code NETWORK_MODE}:
+ * <ul>
+ *   <li>{@code off} (default) - browser mengakses network seperti biasa.</li>
+ *   <li>{@code record} - setiap response disimpan, lalu ditulis ke archive di akhir suite.</li>
+ *   <li>{@code replay} - response dilayani dari archive tanpa menyentuh network. Request yang
+ *       tidak ada di archive dijawab 404 agar hasil tetap deterministik.</li>
+ * </ul>
+ * Archive berupa file JSON-lines ter-gzip ({@code NETWORK_ARCHIVE}, default
+ * <code>network-archive/web-suite.jsonl.gz</code>). Setiap baris berisi method, URL, status,
+ * header dan body (base64). Satu response disimpan per kombinasi method + URL (response pertama
+ * yang terekam), sehingga replay selalu menghasilkan response yang sama tanpa bergantung urutan test.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class NetworkArchive {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Header yang tidak relevan setelah body di-decode oleh browser. */
+    private static final List<String> SKIPPED_HEADERS = List.of("content-encoding", "content-length", "transfer-encoding");
+
+    private static final Map<String, Map<String, Object>> RECORDED = new ConcurrentHashMap<>();
+    private static volatile Map<String, Map<String, Object>> replayEntries;
+    private static final AtomicInteger REPLAY_MISSES = new AtomicInteger();
+
+    public static String mode() {
+        return ConfigLoader.getOrDefault("NETWORK_MODE", "off").toLowerCase();
+    }
+
+    private static Path archivePath() {
+        return Paths.get(ConfigLoader.getOrDefault("NETWORK_ARCHIVE", "network-archive/web-suite.jsonl.gz"));
+    }
+
+    /**
+     * Memasang interceptor record/replay ke driver sesuai {@code NETWORK_MODE}.
+     * Tidak melakukan apa pun jika mode {@code off} atau driver tidak mendukung DevTools.
+     *
+     * @param driver driver yang baru dibuat
+     */
+    @SuppressWarnings("resource")
+    public static void attach(WebDriver driver) {
+        String mode = mode();
+        if ("off".equals(mode)) return;
+
+        if (!(driver instanceof HasDevTools)) {
+            System.out.println("[NETWORK] Driver tidak mendukung DevTools, mode " + mode + " diabaikan.");
+            return;
+        }
+
+        if ("record".equals(mode)) {
+            new NetworkInterceptor(driver, recordFilter());
+        } else if ("replay".equals(mode)) {
+            loadReplayEntries();
+            new NetworkInterceptor(driver, replayFilter());
+        } else {
+            System.err.println(" NETWORK_MODE '" + mode + "' tidak dikenali. Gunakan off, record atau replay.");
+        }
+    }
+
+    private static Filter recordFilter() {
+        return next -> req -> {
+            HttpResponse res = next.execute(req);
+
+            byte[] body = Contents.bytes(res.getContent());
+            res.setContent(Contents.bytes(body));
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", req.getMethod().toString());
+            entry.put("url", req.getUri());
+            entry.put("status", res.getStatus());
+            List<List<String>> headers = new ArrayList<>();
+            res.forEachHeader((name, value) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    headers.add(List.of(name, value));
+                }
+            });
+            entry.put("headers", headers);
+            entry.put("body", Base64.getEncoder().encodeToString(body));
+
+            RECORDED.putIfAbsent(key(req), entry);
+            return res;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Filter replayFilter() {
+        // 'next' sengaja tidak pernah dipanggil agar tidak ada request ke network
+        return next -> req -> {
+            Map<String, Object> entry = replayEntries.get(key(req));
+            if (entry == null) {
+                REPLAY_MISSES.incrementAndGet();
+                System.out.println("[NETWORK] Tidak ada di archive: " + req.getMethod() + " " + req.getUri());
+                return new HttpResponse().setStatus(404).addHeader("X-Network-Archive", "miss");
+            }
+
+            HttpResponse res = new HttpResponse().setStatus(((Number) entry.get("status")).intValue());
+            for (List<String> header : (List<List<String>>) entry.get("headers")) {
+                res.addHeader(header.get(0), header.get(1));
+            }
+            res.setContent(Contents.bytes(Base64.getDecoder().decode((String) entry.get("body"))));
+            return res;
+        };
+    }
+
+    private static String key(HttpRequest req) {
+        return req.getMethod() + " " + req.getUri();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static synchronized void loadReplayEntries() {
+        if (replayEntries != null) return;
+
+        Path path = archivePath();
+        Map<String, Map<String, Object>> entries = new ConcurrentHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                Map<String, Object> entry = MAPPER.readValue(line, Map.class);
+                entries.put(entry.get("method") + " " + entry.get("url"), entry);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Gagal membaca network archive " + path
+                    + ". Jalankan suite dengan -DNETWORK_MODE=record terlebih dahulu.", e);
+        }
+        System.out.println("[NETWORK] Replay " + entries.size() + " response dari " + path);
+        replayEntries = entries;
+    }
+
+    /**
+     * Menulis semua response yang terekam ke archive (mode record), atau mencetak
+     * jumlah request yang tidak ditemukan (mode replay). Dipanggil di akhir suite.
+     */
+    public static synchronized void save() {
+        if ("replay".equals(mode()) && REPLAY_MISSES.get() > 0) {
+            System.out.println("[NETWORK] " + REPLAY_MISSES.get() + " request tidak ditemukan di archive.");
+        }
+        if (!"record".equals(mode()) || RECORDED.isEmpty()) return;
+
+        Path path = archivePath();
+        try {
+            File parent = path.toAbsolutePath().getParent().toFile();
+            if (!parent.exists()) parent.mkdirs();
+
+            // Urutkan berdasarkan key agar isi archive stabil antar run
+            Map<String, Map<String, Object>> sorted = new TreeMap<>(RECORDED);
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(path)), StandardCharsets.UTF_8))) {
+                for (Map<String, Object> entry : sorted.values()) {
+                    writer.write(MAPPER.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            }
+            System.out.println("[NETWORK] " + sorted.size() + " response direkam ke " + path);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis network archive: " + e.getMessage());
+        }
+    }
+}
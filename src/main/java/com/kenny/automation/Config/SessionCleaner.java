@@ -0,0 +1,140 @@
+package com.kenny.automation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * SessionCleaner membersihkan state browser (cookies, localStorage, sessionStorage,
+ * window tambahan, viewport dan URL) agar satu proses browser bisa dipakai ulang
+ * oleh test berikutnya tanpa quit-and-relaunch.
+ * <p>
+ * Digunakan oleh {@link WebDriverManager} pada lifecycle mode {@code reuse} dan oleh
+ * {@link WebDriverPool} ketika driver dikembalikan ke pool.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class SessionCleaner {
+
+    /** Badge jumlah item di keranjang saucedemo, harus hilang setelah reset. */
+    private static final By CART_BADGE = By.className("shopping_cart_badge");
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private static final String STORAGE_SIZE_SCRIPT =
+            "try { return window.localStorage.length + window.sessionStorage.length; } catch (e) { return 0; }";
+
+    /**
+     * Menghapus cookies, storage milik origin yang sedang terbuka, dan menutup
+     * semua window kecuali window pertama.
+     *
+     * @param driver driver yang akan dibersihkan
+     */
+    public static void wipe(WebDriver driver) {
+        closeExtraWindows(driver);
+
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        try {
+            driver.manage().deleteAllCookies();
+        } catch (WebDriverException e) {
+            // Halaman seperti about:blank tidak memiliki cookie jar
+        }
+
+        // Cookies dari domain lain hanya bisa dihapus via DevTools
+        if (driver instanceof HasCdp) {
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", new HashMap<>());
+        }
+    }
+
+    /**
+     * Reset penuh sesi browser lalu verifikasi hasilnya.
+     * <ol>
+     *   <li>Bersihkan state di origin yang sedang terbuka.</li>
+     *   <li>Buka <code>url</code>, bersihkan lagi storage-nya, lalu reload.</li>
+     *   <li>Reset ukuran viewport (maximize jika <code>viewport</code> null).</li>
+     *   <li>Verifikasi tidak ada cookies, storage, window tambahan maupun cart badge.</li>
+     * </ol>
+     *
+     * @param driver   driver yang akan di-reset
+     * @param url      URL awal aplikasi
+     * @param viewport ukuran window yang diinginkan, atau null untuk maximize
+     * @return <code>true</code> jika reset terverifikasi bersih, <code>false</code>
+     *         jika gagal sehingga driver sebaiknya di-restart
+     */
+    public static boolean reset(WebDriver driver, String url, Dimension viewport) {
+        try {
+            wipe(driver);
+
+            driver.get(url);
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            driver.manage().deleteAllCookies();
+            driver.navigate().refresh();
+
+            if (viewport != null) {
+                driver.manage().window().setSize(viewport);
+            } else {
+                driver.manage().window().maximize();
+            }
+
+            return verify(driver, url);
+        } catch (Exception e) {
+            System.out.println("[SESSION] Gagal reset sesi browser: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Memastikan sesi benar-benar bersih setelah reset.
+     */
+    private static boolean verify(WebDriver driver, String url) {
+        List<String> problems = new ArrayList<>();
+
+        if (driver.getWindowHandles().size() != 1) {
+            problems.add("window tambahan masih terbuka");
+        }
+        if (!driver.manage().getCookies().isEmpty()) {
+            problems.add("cookies masih ada");
+        }
+        Object storageSize = ((JavascriptExecutor) driver).executeScript(STORAGE_SIZE_SCRIPT);
+        if (storageSize instanceof Number && ((Number) storageSize).intValue() > 0) {
+            problems.add("localStorage/sessionStorage masih berisi data");
+        }
+        if (!driver.findElements(CART_BADGE).isEmpty()) {
+            problems.add("cart badge masih tampil");
+        }
+        if (!stripTrailingSlash(driver.getCurrentUrl()).startsWith(stripTrailingSlash(url))) {
+            problems.add("URL tidak sesuai: " + driver.getCurrentUrl());
+        }
+
+        if (!problems.isEmpty()) {
+            System.out.println("[SESSION] Reset tidak bersih: " + String.join(", ", problems));
+        }
+        return problems.isEmpty();
+    }
+
+    private static void closeExtraWindows(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        if (handles.size() <= 1) return;
+
+        String keep = handles.get(0);
+        for (String handle : handles.subList(1, handles.size())) {
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        driver.switchTo().window(keep);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url != null && url.endsWith("/") ? url.substring(0, url.length() - 1) : String.valueOf(url);
+    }
+}
@@ -0,0 +1,81 @@
+package com.kenny.automation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.net.PortProber;
+
+/**
+ * SharedChromeDriverService adalah satu proses chromedriver yang dipakai bersama oleh
+ * banyak sesi browser dalam satu JVM.
+ * <p>
+ * Selenium secara default menghentikan {@link ChromeDriverService} ketika
+ * {@code driver.quit()} dipanggil. Class ini mengabaikan {@link #stop()} tersebut
+ * sehingga proses chromedriver tetap hidup untuk sesi berikutnya, dan baru benar-benar
+ * dihentikan lewat {@link #shutdownShared()} di akhir suite.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class SharedChromeDriverService extends ChromeDriverService {
+
+    private static SharedChromeDriverService instance;
+
+    private SharedChromeDriverService(File executable, int port, List<String> args) throws IOException {
+        super(executable, port, Duration.ofSeconds(20), args, new HashMap<>());
+    }
+
+    /**
+     * Mengembalikan service bersama yang sedang berjalan, memulainya jika belum ada.
+     *
+     * @return service chromedriver yang sudah berjalan
+     */
+    public static synchronized SharedChromeDriverService getOrStart() {
+        if (instance == null || !instance.isRunning()) {
+            try {
+                int port = PortProber.findFreePort();
+                List<String> args = new ArrayList<>();
+                args.add("--port=" + port);
+                if (Boolean.getBoolean(CHROME_DRIVER_SILENT_OUTPUT_PROPERTY)) {
+                    args.add("--silent");
+                }
+
+                SharedChromeDriverService service = new SharedChromeDriverService(ChromeDriverBinary.get(), port, args);
+                service.start();
+                DriverStartupStats.serviceStarted();
+                instance = service;
+                System.out.println("[CHROMEDRIVER] Shared service started at " + service.getUrl());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal menjalankan shared chromedriver service", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Menghentikan service bersama. Dipanggil setelah semua driver ditutup.
+     */
+    public static synchronized void shutdownShared() {
+        if (instance != null) {
+            instance.stopNow();
+            instance = null;
+        }
+    }
+
+    /** Diabaikan: dipanggil Selenium setiap kali sebuah sesi di-quit. */
+    @Override
+    public void stop() {
+        // service tetap hidup untuk sesi berikutnya
+    }
+
+    private void stopNow() {
+        super.stop();
+    }
+}
@@ -1,31 +1,191 @@
 package com.kenny.automation.Config;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 
+import com.kenny.automation.Helper.ConfigLoader;
+
 
 
 public class WebDriverManager {
-	
+
 	private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
-	   // Inisialisasi driver baru
+	/** Pool asal driver milik thread ini, null jika driver dibuat langsung tanpa pool */
+	private static ThreadLocal<WebDriverPool> leasedFrom = new ThreadLocal<>();
+
+	/** Pool key factory pembuat driver milik thread ini, untuk mendeteksi pergantian profile */
+	private static ThreadLocal<String> driverKey = new ThreadLocal<>();
+
+	/** Jumlah test yang sudah memakai driver ini pada mode reuse */
+	private static ThreadLocal<Integer> sessionUses = ThreadLocal.withInitial(() -> 0);
+
+	/** Driver yang dibuat langsung tanpa pool, agar bisa ditutup di akhir suite */
+	private static final Set<WebDriver> unpooledDrivers = ConcurrentHashMap.newKeySet();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(WebDriverManager::shutdown, "webdriver-shutdown"));
+	}
+
+	   // Inisialisasi driver baru (dipinjam dari WebDriverPool jika pooling aktif)
 	    public static void initDriver(DriverFactory factory)  {
+	    	if (driver.get() != null && !canReuse(factory)) {
+	    		quitDriver();
+	    	}
 	    	if (driver.get() == null) {
-	    		 driver.set(factory.createDriver());
-	    		
+	    		WebDriverPool pool = null;
+	    		if (WebDriverPool.isEnabled()) {
+	    			pool = WebDriverPool.forFactory(factory);
+	    			try {
+	    				driver.set(pool.acquire());
+	    				leasedFrom.set(pool);
+	    			} catch (InterruptedException e) {
+	    				Thread.currentThread().interrupt();
+	    				throw new IllegalStateException("Interrupted saat menunggu driver dari pool", e);
+	    			}
+	    		} else {
+	    			WebDriver created = DriverPrewarmer.take(factory);
+	    			unpooledDrivers.add(created);
+	    			driver.set(created);
+	    		}
+
+	    		// Siapkan sesi berikutnya di background selama test ini berjalan, kecuali driver ini
+	    		// dipakai ulang. Dengan pool, sesi prewarm masuk ke pool dan dihitung dalam POOL_MAX_SIZE.
+	    		if (!isReuseMode()) {
+	    			if (pool != null) {
+	    				pool.prewarm();
+	    			} else {
+	    				DriverPrewarmer.warm(factory);
+	    			}
+	    		}
+	    		driverKey.set(factory.poolKey());
+	    		sessionUses.set(0);
 	        }
+	    	sessionUses.set(sessionUses.get() + 1);
+	    }
+
+	    /**
+	     * Mengecek apakah driver yang masih dipegang thread ini (mode reuse) boleh dipakai test
+	     * berikutnya: dibuat oleh factory/profile yang sama, belum mencapai {@code POOL_MAX_USES},
+	     * dan sesi browser masih hidup.
+	     */
+	    private static boolean canReuse(DriverFactory factory) {
+	    	if (!factory.poolKey().equals(driverKey.get())) {
+	    		System.out.println("Driver profile berubah (" + driverKey.get() + " -> " + factory.poolKey() + "), driver lama dilepas.");
+	    		return false;
+	    	}
+	    	if (sessionUses.get() >= Math.max(1, ConfigLoader.getInt("POOL_MAX_USES", 20))) {
+	    		System.out.println("Driver sudah dipakai " + sessionUses.get() + " kali, diganti browser baru.");
+	    		discardDriver();
+	    		return false;
+	    	}
+	    	if (!WebDriverPool.isHealthy(driver.get())) {
+	    		System.out.println("Driver tidak sehat, diganti browser baru.");
+	    		discardDriver();
+	    		return false;
+	    	}
+	    	return true;
 	    }
-	    
+
 	    // Ambil driver yang aktif
 	    public static WebDriver getDriver() {
 	        return driver.get();
 	    }
 
-	    // Tutup driver
+	    // Lifecycle mode: "release" (default, quit/kembalikan ke pool) atau "reuse" (soft reset)
+	    public static boolean isReuseMode() {
+	        return "reuse".equalsIgnoreCase(ConfigLoader.getOrDefault("DRIVER_LIFECYCLE", "release"));
+	    }
+
+	    /**
+	     * Mengakhiri sesi test sesuai lifecycle mode. Pada mode {@code reuse}, browser tetap
+	     * hidup dan hanya di-reset oleh {@link SessionCleaner}; jika reset tidak terverifikasi
+	     * bersih, driver dibuang sehingga test berikutnya mendapat browser baru.
+	     *
+	     * @param url      URL awal aplikasi untuk reset
+	     * @param viewport ukuran window setelah reset, atau null untuk maximize
+	     */
+	    public static void endSession(String url, Dimension viewport) {
+	        WebDriver current = driver.get();
+	        if (current == null) return;
+
+	        if (isReuseMode()) {
+	            if (SessionCleaner.reset(current, url, viewport)) {
+	                System.out.println("Session reset, driver kept alive for next test.");
+	                return;
+	            }
+	            System.out.println("Session reset incomplete, falling back to full restart.");
+	            discardDriver();
+	        } else {
+	            quitDriver();
+	        }
+	    }
+
+	    // Tutup driver, atau kembalikan ke pool jika driver berasal dari pool
 	    public static void quitDriver() {
-	        if (driver.get() != null) {
-	            driver.get().quit();
-	            driver.remove();
+	        WebDriver current = driver.get();
+	        if (current != null) {
+	            try {
+	                WebDriverPool pool = leasedFrom.get();
+	                if (pool != null) {
+	                    pool.release(current);
+	                } else {
+	                    unpooledDrivers.remove(current);
+	                    current.quit();
+	                }
+	            } finally {
+	                driver.remove();
+	                leasedFrom.remove();
+	                driverKey.remove();
+	                sessionUses.remove();
+	            }
 	        }
 	    }
+
+	    // Buang driver yang crash tanpa mengembalikannya ke pool
+	    public static void discardDriver() {
+	        WebDriver current = driver.get();
+	        if (current != null) {
+	            try {
+	                WebDriverPool pool = leasedFrom.get();
+	                if (pool != null) {
+	                    pool.invalidate(current);
+	                } else {
+	                    unpooledDrivers.remove(current);
+	                    current.quit();
+	                }
+	            } catch (Exception e) {
+	                System.out.println("Warning during driver discard: " + e.getMessage());
+	            } finally {
+	                driver.remove();
+	                leasedFrom.remove();
+	                driverKey.remove();
+	                sessionUses.remove();
+	            }
+	        }
+	    }
+
+	    // Tutup semua driver yang masih hidup di akhir suite
+	    public static void shutdown() {
+	        DriverPrewarmer.discardAll();
+	        WebDriverPool.shutdownAll();
+	        for (WebDriver remaining : unpooledDrivers) {
+	            try {
+	                remaining.quit();
+	            } catch (Exception e) {
+	                System.out.println("Warning during driver quit: " + e.getMessage());
+	            }
+	        }
+	        unpooledDrivers.clear();
+	        BrowserContextDriverFactory.shutdownHosts();
+
+	        NetworkArchive.save();
+	        LocalSiteServer.stop();
+
+	        // Service chromedriver dihentikan paling akhir, setelah semua sesi ditutup
+	        ChromeDriverFactory.shutdown();
+	    }
 }
@@ -1,42 +1,338 @@
 package com.kenny.automation.Config;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import com.kenny.automation.Helper.ConfigLoader;
 
+/**
+ * WebDriverPool menyimpan instance WebDriver yang sudah berjalan agar bisa dipakai
+ * ulang oleh beberapa test, sehingga Chrome tidak perlu di-launch ulang untuk setiap
+ * test method.
+ * <p>
+ * Karakteristik pool:
+ * <ul>
+ *   <li>Elastis: driver dibuat secara lazy hingga batas {@code POOL_MAX_SIZE}, dan driver
+ *       yang idle lebih lama dari {@code POOL_IDLE_TIMEOUT_SECONDS} akan ditutup.</li>
+ *   <li>Health-check: driver dicek sebelum dipinjamkan; driver yang crash dibuang dan
+ *       diganti driver baru.</li>
+ *   <li>Driver ditutup setelah dipakai {@code POOL_MAX_USES} kali untuk menghindari
+ *       kebocoran memori pada proses browser.</li>
+ *   <li>Antrian thread yang menunggu bersifat fair (FIFO) melalui {@link Semaphore},
+ *       tanpa monitor {@code synchronized}/{@code wait()} global.</li>
+ *   <li>Prewarm: {@link #prewarm()} membuat driver tambahan di background selama pool belum
+ *       penuh. Driver tersebut dihitung dalam {@code POOL_MAX_SIZE} dan masuk ke antrian idle,
+ *       sehingga tetap melalui health-check sebelum dipinjamkan. Jika slot terakhir sedang dipakai
+ *       prewarm, {@link #acquire()} menunggu driver prewarm tersebut, bukan membuat driver baru.</li>
+ * </ul>
+ * Setiap {@link DriverFactory} memiliki pool sendiri berdasarkan {@link DriverFactory#poolKey()}.
+ * Semua setting dibaca melalui {@link ConfigLoader#getOrDefault(String, String)} sehingga
+ * bisa di-override dengan {@code -DPOOL_MAX_SIZE=8} dari command line.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 2.0
+ */
 public class WebDriverPool {
-    private static final int MAX_POOL_SIZE = 3;
-    private static final Queue<WebDriver> available = new LinkedList<>();
-    private static final Set<WebDriver> inUse = new HashSet<>();
 
-    static {
+    private static final Map<String, WebDriverPool> POOLS = new ConcurrentHashMap<>();
+
+    /** Thread daemon untuk menutup driver yang idle terlalu lama. */
+    private static final ScheduledExecutorService REAPER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "webdriver-pool-reaper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final DriverFactory factory;
+    private final int maxSize;
+    private final int maxUses;
+    private final long idleTimeoutMs;
+    private final long acquireTimeoutMs;
+
+    /** Permit = jumlah driver yang boleh dipinjam secara bersamaan (fair). */
+    private final Semaphore permits;
+    private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** Naik setiap {@link #shutdown()}, driver prewarm dari generasi lama langsung ditutup. */
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private WebDriverPool(DriverFactory factory) {
+        this.factory = factory;
+        this.maxSize = Math.max(1, ConfigLoader.getInt("POOL_MAX_SIZE", 5));
+        this.maxUses = Math.max(1, ConfigLoader.getInt("POOL_MAX_USES", 20));
+        this.idleTimeoutMs = TimeUnit.SECONDS.toMillis(ConfigLoader.getInt("POOL_IDLE_TIMEOUT_SECONDS", 120));
+        this.acquireTimeoutMs = TimeUnit.SECONDS.toMillis(ConfigLoader.getInt("POOL_ACQUIRE_TIMEOUT_SECONDS", 300));
+        this.permits = new Semaphore(maxSize, true);
+
+        long period = Math.max(1000, idleTimeoutMs / 2);
+        REAPER.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Mengecek apakah pooling aktif ({@code POOL_ENABLED}, default {@code true}).
+     */
+    public static boolean isEnabled() {
+        return ConfigLoader.getBoolean("POOL_ENABLED", true);
+    }
+
+    /**
+     * Mengambil pool untuk factory tertentu, membuat pool baru jika belum ada.
+     *
+     * @param factory factory yang digunakan untuk membuat driver baru
+     * @return pool milik factory tersebut
+     */
+    public static WebDriverPool forFactory(DriverFactory factory) {
+        return POOLS.computeIfAbsent(factory.poolKey(), key -> new WebDriverPool(factory));
+    }
+
+    /**
+     * Meminjam driver dari pool. Driver idle yang sehat akan dipakai terlebih dahulu,
+     * jika tidak ada maka driver baru dibuat (selama belum melewati batas pool).
+     * Jika pool penuh, thread akan menunggu secara fair hingga ada driver yang dikembalikan.
+     * Jika slot tersisa sudah dipesan oleh prewarm, thread menunggu driver prewarm masuk ke antrian idle.
+     *
+     * @return WebDriver yang siap dipakai
+     * @throws InterruptedException jika thread di-interrupt saat menunggu
+     * @throws IllegalStateException jika tidak ada driver tersedia sampai timeout
+     */
+    public WebDriver acquire() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + acquireTimeoutMs;
+        if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw timeout();
+        }
+
+        boolean acquired = false;
         try {
-            DriverFactory factory = new ChromeDriverFactory();
-            for (int i = 0; i < MAX_POOL_SIZE; i++) {
-                available.add(factory.createDriver());
+            PooledDriver entry = takeIdleOrCreate(deadline);
+            entry.uses++;
+            leased.put(entry.driver, entry);
+            acquired = true;
+            return entry.driver;
+        } finally {
+            if (!acquired) permits.release();
+        }
+    }
+
+    /**
+     * Mengambil driver idle yang sehat, atau membuat driver baru jika slot masih tersedia. Jika
+     * semua slot terpakai (biasanya oleh prewarm yang belum selesai), tunggu driver masuk ke idle.
+     */
+    private PooledDriver takeIdleOrCreate(long deadline) throws InterruptedException {
+        boolean waitLogged = false;
+        while (true) {
+            PooledDriver entry = idle.pollFirst();
+            if (entry == null && !reserveSlot()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) throw timeout();
+                if (!waitLogged) {
+                    System.out.println("[POOL] Menunggu driver prewarm (" + size.get() + "/" + maxSize + "): " + factory.poolKey());
+                    waitLogged = true;
+                }
+                // Dibatasi 1 detik agar slot yang dilepas prewarm gagal/destroy tetap terlihat
+                entry = idle.pollFirst(Math.min(remaining, 1000), TimeUnit.MILLISECONDS);
+                if (entry == null) continue;
+            }
+
+            if (entry == null) {
+                try {
+                    entry = new PooledDriver(factory.createDriver());
+                } catch (RuntimeException e) {
+                    size.decrementAndGet();
+                    throw e;
+                }
+                System.out.println("[POOL] Driver baru dibuat (" + size.get() + "/" + maxSize + "): " + factory.poolKey());
+                return entry;
+            }
+
+            if (isHealthy(entry.driver)) {
+                return entry;
+            }
+            System.out.println("[POOL] Driver tidak sehat, dibuang dari pool: " + factory.poolKey());
+            destroy(entry);
+        }
+    }
+
+    /** Memesan satu slot di bawah {@code POOL_MAX_SIZE}; false jika pool (termasuk prewarm) sudah penuh. */
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxSize) return false;
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private IllegalStateException timeout() {
+        return new IllegalStateException("Timeout menunggu driver dari pool " + factory.poolKey()
+                + " (max size " + maxSize + ")");
+    }
+
+    /**
+     * Membuat satu driver baru di background dan menaruhnya di antrian idle, selama tidak ada
+     * driver idle dan ukuran pool (termasuk driver yang sedang dibuat) masih di bawah batas.
+     * Tidak melakukan apa pun jika prewarming dimatikan ({@code PREWARM_ENABLED=false}).
+     */
+    public void prewarm() {
+        if (!DriverPrewarmer.isEnabled() || !idle.isEmpty()) return;
+
+        // Slot dipesan lebih dulu agar driver prewarm ikut dihitung dalam POOL_MAX_SIZE
+        if (!reserveSlot()) return;
+
+        int startedIn = generation.get();
+        DriverPrewarmer.submit(() -> {
+            WebDriver created;
+            try {
+                created = factory.createDriver();
+            } catch (RuntimeException e) {
+                size.decrementAndGet();
+                System.out.println("[POOL] Gagal prewarm driver: " + e.getMessage());
+                return;
+            }
+
+            PooledDriver entry = new PooledDriver(created);
+            if (startedIn != generation.get()) {
+                destroy(entry);
+                return;
             }
+            idle.offerLast(entry);
+            System.out.println("[POOL] Driver prewarm siap (" + size.get() + "/" + maxSize + "): " + factory.poolKey());
+        });
+    }
+
+    /**
+     * Mengembalikan driver ke pool. Driver yang crash, sudah mencapai batas pemakaian,
+     * atau melebihi ukuran pool akan ditutup.
+     *
+     * @param driver driver yang sebelumnya dipinjam dari pool ini
+     */
+    public void release(WebDriver driver) {
+        PooledDriver entry = leased.remove(driver);
+        if (entry == null) return;
+
+        try {
+            if (entry.uses >= maxUses || size.get() > maxSize || !isHealthy(driver) || !resetSession(driver)) {
+                destroy(entry);
+            } else {
+                entry.lastReturned = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Membuang driver yang sedang dipinjam tanpa mengembalikannya ke pool,
+     * misalnya ketika browser crash di tengah test.
+     *
+     * @param driver driver yang sebelumnya dipinjam dari pool ini
+     */
+    public void invalidate(WebDriver driver) {
+        PooledDriver entry = leased.remove(driver);
+        if (entry == null) return;
+        try {
+            destroy(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Menutup semua driver di semua pool. Dipanggil di akhir suite.
+     */
+    public static void shutdownAll() {
+        for (WebDriverPool pool : POOLS.values()) {
+            pool.shutdown();
+        }
+    }
+
+    private void shutdown() {
+        generation.incrementAndGet();
+        PooledDriver entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destroy(entry);
+        }
+        for (PooledDriver leasedEntry : leased.values()) {
+            if (leased.remove(leasedEntry.driver) != null) {
+                try {
+                    destroy(leasedEntry);
+                } finally {
+                    // Permit dikembalikan agar suite/<test> berikutnya di JVM yang sama tidak kekurangan slot
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /** Menutup driver idle yang sudah melewati idle timeout. */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledDriver> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledDriver entry = it.next();
+            if (now - entry.lastReturned >= idleTimeoutMs && idle.remove(entry)) {
+                System.out.println("[POOL] Driver idle terlalu lama, ditutup: " + factory.poolKey());
+                destroy(entry);
+            }
+        }
+    }
+
+    /** Mengecek apakah sesi browser masih hidup, dipakai juga untuk driver reuse di {@link WebDriverManager}. */
+    static boolean isHealthy(WebDriver driver) {
+        try {
+            if (driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() == null) {
+                return false;
+            }
+            driver.getWindowHandle();
+            return true;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to initialize WebDriverPool", e);
+            return false;
         }
     }
 
-    public synchronized static WebDriver acquireDriver() throws InterruptedException {
-        while (available.isEmpty()) {
-            WebDriverPool.class.wait();
+    /** Membersihkan state sesi sebelum driver dipinjamkan ke test berikutnya. */
+    private boolean resetSession(WebDriver driver) {
+        try {
+            SessionCleaner.wipe(driver);
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            System.out.println("[POOL] Gagal reset sesi driver: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(PooledDriver entry) {
+        size.decrementAndGet();
+        try {
+            entry.driver.quit();
+        } catch (Exception e) {
+            System.out.println("[POOL] Warning saat quit driver: " + e.getMessage());
         }
-        WebDriver driver = available.poll();
-        inUse.add(driver);
-        return driver;
     }
 
-    public synchronized static void releaseDriver(WebDriver driver) {
-        if (driver != null) {
-            inUse.remove(driver);
-            available.add(driver);
-            WebDriverPool.class.notifyAll();
+    /** Driver beserta metadata pemakaiannya di pool. */
+    private static class PooledDriver {
+        private final WebDriver driver;
+        private int uses;
+        private volatile long lastReturned = System.currentTimeMillis();
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
         }
     }
 }
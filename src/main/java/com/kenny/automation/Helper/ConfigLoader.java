@@ -4,6 +4,8 @@ import java.io.IOException;
 
 import java.util.Properties;
 
+import com.kenny.automation.Config.LocalSiteServer;
+
 
 /**
  * <h1>ConfigLoader</h1> Utility class untuk membaca file konfigurasi
@@ -99,8 +101,66 @@ public class ConfigLoader {
 		String value = props.getProperty(key);
 		return value != null && !value.trim().isEmpty();
 	}
+
+
+	/**
+	 * Mengambil value setting dengan urutan prioritas: System property
+	 * (<code>-Dkey=value</code>), environment variable, config.properties, lalu
+	 * default value.
+	 *
+	 * @param key          Nama key yang ingin diambil.
+	 * @param defaultValue Value yang dikembalikan jika key tidak ditemukan.
+	 * @return Value dari key, atau <code>defaultValue</code> jika tidak ada.
+	 */
+	public static String getOrDefault(String key, String defaultValue) {
+		String value = System.getProperty(key);
+		if (value == null || value.trim().isEmpty()) value = System.getenv(key);
+		if (value == null || value.trim().isEmpty()) value = props.getProperty(key);
+		if (value == null || value.trim().isEmpty()) return defaultValue;
+		return value.trim();
+	}
+
+
+	/**
+	 * Versi numerik dari {@link #getOrDefault(String, String)}. Jika value tidak
+	 * valid sebagai angka, default value digunakan dan peringatan ditampilkan.
+	 *
+	 * @param key          Nama key yang ingin diambil.
+	 * @param defaultValue Value default.
+	 * @return Value integer dari key.
+	 */
+	public static int getInt(String key, int defaultValue) {
+		String value = getOrDefault(key, null);
+		if (value == null) return defaultValue;
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			System.err.println(" Nilai '" + value + "' untuk " + key + " bukan angka. Default ke " + defaultValue + ".");
+			return defaultValue;
+		}
+	}
+
+
+	/**
+	 * Versi boolean dari {@link #getOrDefault(String, String)}.
+	 *
+	 * @param key          Nama key yang ingin diambil.
+	 * @param defaultValue Value default.
+	 * @return <code>true</code> jika value adalah "true" (case-insensitive).
+	 */
+	public static boolean getBoolean(String key, boolean defaultValue) {
+		String value = getOrDefault(key, null);
+		return value == null ? defaultValue : Boolean.parseBoolean(value);
+	}
+
 	
-	
+	/**
+	 * Mengambil base URL environment aktif (<code>ENVIRONMENT</code>, default
+	 * STAGING). Untuk <code>LOCAL</code>, {@link LocalSiteServer} dijalankan dan
+	 * URL-nya dikembalikan.
+	 *
+	 * @return base URL environment aktif.
+	 */
 	public static String getActiveEnvironmentUrl() {
 	    String env = System.getProperty("ENVIRONMENT");
 	    if (env == null || env.isEmpty()) env = System.getenv("ENVIRONMENT");
@@ -108,7 +168,7 @@ public class ConfigLoader {
 
 	    env = env.toUpperCase();
 
-	    String url = get(env);
+	    String url = "LOCAL".equals(env) ? LocalSiteServer.start() : get(env);
 
 	    if (url == null || url.isEmpty()) {
 	        System.err.println(" Environment " + env + " tidak ditemukan di config.properties maupun ENV. Default ke saucedemo.com.");
@@ -340,7 +340,11 @@ public class CustomCommand {
      *
      * @param stepName nama langkah yang sedang dijalankan
      * @return base64 string dari screenshot
+     * @deprecated pakai {@link #captureScreenshotBytes(String)}; base64 hanya dibuat oleh
+     *             {@link com.kenny.automation.Listeners.ScreenshotStore} jika report memerlukannya
+     *             ({@code SCREENSHOT_STORE=embedded}).
      */
+    @Deprecated
     @SuppressWarnings("deprecation")
 	public static String captureScreenshotBase64(String stepName) {
         WebDriver driver = getDriverSafe();
@@ -357,6 +361,53 @@ public class CustomCommand {
             return null;
         }
     }
+
+    /**
+     * Mengambil screenshot sebagai byte gambar mentah, untuk diproses di background oleh
+     * {@link com.kenny.automation.Listeners.ScreenshotPipeline}. Jalur capture (WebDriver/DevTools)
+     * dan format mengikuti {@link ScreenshotCapture}.
+     *
+     * @param stepName nama langkah yang sedang dijalankan
+     * @return byte screenshot, atau null jika gagal
+     */
+    @SuppressWarnings("deprecation")
+	public static byte[] captureScreenshotBytes(String stepName) {
+        WebDriver driver = getDriverSafe();
+        if (driver == null)
+            return null;
+
+        System.out.println("[DEBUG] Thread " + Thread.currentThread().getId() + " capture screenshot for step: " + stepName);
+
+        try {
+            return ScreenshotCapture.capture(driver);
+        } catch (Exception e) {
+            System.out.println("[WARNING] Gagal capture screenshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Mengambil screenshot hanya area satu element (contoh: panel ringkasan harga).
+     *
+     * @param element  element yang di-clip
+     * @param stepName nama langkah yang sedang dijalankan
+     * @return byte screenshot, atau null jika gagal
+     */
+    @SuppressWarnings("deprecation")
+	public static byte[] captureElementScreenshotBytes(WebElement element, String stepName) {
+        WebDriver driver = getDriverSafe();
+        if (driver == null)
+            return null;
+
+        System.out.println("[DEBUG] Thread " + Thread.currentThread().getId() + " capture element screenshot for step: " + stepName);
+
+        try {
+            return ScreenshotCapture.capture(driver, element);
+        } catch (Exception e) {
+            System.out.println("[WARNING] Gagal capture screenshot element: " + e.getMessage());
+            return null;
+        }
+    }
     
     
     public String getTextIfPresent(WebElement element) {
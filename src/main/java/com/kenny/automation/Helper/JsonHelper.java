@@ -1,45 +1,203 @@
 package com.kenny.automation.Helper;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 
 /**
  * class utilitas (helper) untuk operasi yang terkait dengan JSON.
  * * Kelas ini menyediakan metode statis untuk membantu dalam memanipulasi
  * atau memformat data JSON.
+ * <p>
+ * Pretty-print dilakukan secara streaming (token parser langsung ke generator) tanpa membangun
+ * tree objek, sehingga response berukuran besar tidak disalin berkali-kali di heap. Output dibatasi
+ * oleh {@code JSON_PRETTY_MAX_CHARS} dan {@code JSON_PRETTY_MAX_LINES} (0 = tanpa batas); jika
+ * batas tercapai output diakhiri penanda terpotong.
+ * </p>
  * @author Kenny Ramadhan
  * @version 1.0
  */
 public class JsonHelper {
 
-    /** Instance ObjectMapper tunggal untuk operasi pemetaan JSON. */
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-    
-    /** Instance ObjectWriter tunggal yang dikonfigurasi untuk pretty-printing (format rapi). */
-    private static final ObjectWriter WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+    /** Factory tunggal untuk parser dan generator streaming; target output dan JSON yang terpotong tidak ditutup otomatis. */
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+            .build();
+
+    /** Batas default ukuran output (karakter) dan jumlah baris. */
+    private static final long MAX_CHARS = ConfigLoader.getInt("JSON_PRETTY_MAX_CHARS", 1024 * 1024);
+    private static final int MAX_LINES = ConfigLoader.getInt("JSON_PRETTY_MAX_LINES", 20000);
 
     /**
      * Mengubah string JSON mentah menjadi format yang lebih mudah dibaca (pretty-print).
      *
      * <p>Jika string input adalah {@code null}, metode ini akan mengembalikan {@code null}.
      * Jika string input bukan merupakan JSON yang valid (misalnya, terjadi {@code Exception}
-     * saat parsing), metode ini akan mengembalikan string input asli tanpa perubahan.</p>
+     * saat parsing), metode ini akan mengembalikan string input asli tanpa perubahan
+     * (dipotong jika melebihi batas ukuran).</p>
      *
      * @param json String JSON yang akan diformat.
-     * @return String JSON yang sudah diformat (pretty-printed), 
+     * @return String JSON yang sudah diformat (pretty-printed),
      * {@code null} jika inputnya {@code null},
      * atau string input asli jika parsing gagal.
      */
     public static String prettyPrint(String json) {
         if (json == null) return null;
-        try {
-            // Baca string JSON sebagai objek generik
-            Object obj = MAPPER.readValue(json, Object.class);
-            // Tulis kembali objek tersebut sebagai string yang sudah diformat
-            return WRITER.writeValueAsString(obj);
-        } catch (Exception e) {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return prettyPrint(parser);
+        } catch (IOException e) {
             // Jika gagal parsing (bukan JSON valid), kembalikan string asli
-            return json;
+            return truncate(json);
+        }
+    }
+
+    /**
+     * Sama seperti {@link #prettyPrint(String)} tetapi langsung membaca byte UTF-8 (contoh: body
+     * response), tanpa membuat salinan String dari input.
+     *
+     * @param json byte JSON yang akan diformat
+     * @return String JSON yang sudah diformat, {@code null} jika input {@code null},
+     * atau isi input sebagai teks jika parsing gagal
+     */
+    public static String prettyPrint(byte[] json) {
+        if (json == null) return null;
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return prettyPrint(parser);
+        } catch (IOException e) {
+            // Satu char UTF-16 paling banyak 3 byte UTF-8: decode cukup byte untuk lebih dari MAX_CHARS
+            // karakter, agar truncate() tetap memberi penanda terpotong
+            int length = MAX_CHARS > 0 ? (int) Math.min(json.length, (MAX_CHARS + 2) * 3) : json.length;
+            while (length < json.length && (json[length] & 0xC0) == 0x80) {
+                length--; // jangan memotong di tengah karakter multi-byte
+            }
+            return truncate(new String(json, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String prettyPrint(JsonParser parser) throws IOException {
+        StringWriter out = new StringWriter();
+        copyPretty(parser, out, MAX_CHARS, MAX_LINES);
+        return out.toString();
+    }
+
+    /**
+     * Pretty-print dari stream ke stream (UTF-8), contoh untuk menulis attachment report langsung
+     * ke file tanpa menyimpan seluruh JSON di memory.
+     *
+     * <pre>
+     * try (InputStream in = response.asInputStream();
+     *      OutputStream out = Files.newOutputStream(Paths.get("reports/body.json"))) {
+     *     JsonHelper.prettyPrint(in, out, 5_000_000, 0);
+     * }
+     * </pre>
+     *
+     * Jika input bukan JSON valid, bagian yang sudah ditulis dipertahankan lalu diakhiri penanda
+     * error. Stream tidak ditutup oleh metode ini.
+     *
+     * @param in       sumber JSON
+     * @param out      tujuan output
+     * @param maxChars batas ukuran output dalam karakter, 0 = tanpa batas
+     * @param maxLines batas jumlah baris output, 0 = tanpa batas
+     * @throws IOException jika gagal membaca input atau menulis output
+     */
+    public static void prettyPrint(InputStream in, OutputStream out, long maxChars, int maxLines) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            copyPretty(parser, writer, maxChars, maxLines);
+        } catch (JsonProcessingException e) {
+            writer.write("\n... [JSON tidak valid: " + e.getOriginalMessage() + "]");
+        }
+        writer.flush();
+    }
+
+    /**
+     * Menyalin token dari parser ke generator pretty-print. Jika batas tercapai, output dipotong
+     * dan diberi penanda, lalu berhenti membaca input.
+     */
+    private static void copyPretty(JsonParser parser, Writer target, long maxChars, int maxLines) throws IOException {
+        CappedWriter capped = new CappedWriter(target, maxChars, maxLines);
+        try (JsonGenerator generator = FACTORY.createGenerator(capped).useDefaultPrettyPrinter()) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+            generator.flush();
+        } catch (CapReachedException e) {
+            target.write("\n... [terpotong: melebihi batas " + e.getMessage() + "]");
+        }
+    }
+
+    private static String truncate(String text) {
+        if (MAX_CHARS <= 0 || text.length() <= MAX_CHARS) return text;
+        int end = (int) MAX_CHARS;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) end--;
+        return text.substring(0, end) + "\n... [terpotong: melebihi batas " + MAX_CHARS + " karakter]";
+    }
+
+    /** Dilempar {@link CappedWriter} ketika batas output tercapai. */
+    private static class CapReachedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        CapReachedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Writer yang meneruskan output sampai batas karakter atau baris tercapai, lalu melempar
+     * {@link CapReachedException}.
+     */
+    private static class CappedWriter extends Writer {
+        private final Writer target;
+        private final long maxChars;
+        private final int maxLines;
+        private long chars;
+        private int lines;
+
+        CappedWriter(Writer target, long maxChars, int maxLines) {
+            this.target = target;
+            this.maxChars = maxChars > 0 ? maxChars : Long.MAX_VALUE;
+            this.maxLines = maxLines > 0 ? maxLines : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int allowed = (int) Math.min(length, maxChars - chars);
+            if (allowed < length && allowed > 0 && Character.isHighSurrogate(buffer[offset + allowed - 1])) {
+                allowed--; // jangan memisahkan pasangan surrogate
+            }
+            for (int i = 0; i < allowed; i++) {
+                if (buffer[offset + i] == '\n' && ++lines >= maxLines) {
+                    target.write(buffer, offset, i);
+                    chars += i;
+                    throw new CapReachedException(maxLines + " baris");
+                }
+            }
+            target.write(buffer, offset, allowed);
+            chars += allowed;
+            if (allowed < length) {
+                throw new CapReachedException(maxChars + " karakter");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        @Override
+        public void close() {
+            // Target ditutup oleh pemanggil
         }
     }
-}
\ No newline at end of file
+}
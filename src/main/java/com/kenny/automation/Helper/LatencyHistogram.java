@@ -0,0 +1,104 @@
+package com.kenny.automation.Helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram adalah histogram latency bergaya HDR (log-linear) yang thread-safe tanpa lock.
+ * <p>
+ * Nilai 0-127 disimpan persis, nilai yang lebih besar dikelompokkan per pangkat dua dengan 64
+ * sub-bucket, sehingga error relatif setiap percentile maksimal ~1.6% berapa pun rentang nilainya.
+ * Memory tetap (± 30 KB) tidak peduli berapa banyak sampel yang direkam, sehingga cocok untuk
+ * jutaan request pada mode load.
+ * </p>
+ *
+ * <pre>
+ * LatencyHistogram histogram = new LatencyHistogram();
+ * histogram.record(latencyMicros);
+ * long p99 = histogram.percentile(99.0);
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT / 2;
+    private static final int MAX_EXPONENT = 63 - (SUB_BITS - 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_COUNT + MAX_EXPONENT * HALF);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * Merekam satu nilai (satuan bebas, biasanya mikrodetik). Nilai negatif dianggap 0.
+     *
+     * @param value nilai yang direkam
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        total.incrementAndGet();
+        sum.addAndGet(v);
+        max.accumulateAndGet(v, Math::max);
+        min.accumulateAndGet(v, Math::min);
+    }
+
+    private static int indexOf(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int exponent = (63 - Long.numberOfLeadingZeros(v)) - (SUB_BITS - 1);
+        int sub = (int) (v >>> exponent);
+        return SUB_COUNT + (exponent - 1) * HALF + (sub - HALF);
+    }
+
+    /** Nilai tertinggi yang masih masuk ke bucket index (seperti "highest equivalent value" di HDR). */
+    private static long highestValueAt(int index) {
+        if (index < SUB_COUNT) return index;
+        int k = index - SUB_COUNT;
+        int exponent = k / HALF + 1;
+        long sub = k % HALF + HALF;
+        return ((sub + 1) << exponent) - 1;
+    }
+
+    /**
+     * Nilai pada percentile tertentu.
+     *
+     * @param percentile 0 - 100, contoh 99.9
+     * @return nilai percentile (dibatasi oleh nilai maksimal yang pernah direkam), atau 0 jika kosong
+     */
+    public long percentile(double percentile) {
+        long count = total.get();
+        if (count == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestValueAt(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long min() {
+        return total.get() == 0 ? 0 : min.get();
+    }
+
+    public double mean() {
+        long count = total.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kenny.automation.Helper;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * PageStateProbe mendeteksi perubahan halaman secara murah, untuk menentukan apakah screenshot
+ * sebelumnya masih bisa dipakai ulang.
+ * <p>
+ * Satu <code>executeScript</code> memasang {@code MutationObserver} (sekali per dokumen) yang
+ * menghitung perubahan DOM serta event <code>input</code>/<code>change</code>, lalu mengembalikan
+ * counter tersebut bersama URL, posisi scroll dan ukuran viewport. Dua state yang sama berarti
+ * tidak ada perubahan DOM maupun navigasi/scroll di antaranya.
+ * </p>
+ * Perubahan yang tidak menyentuh DOM (animasi CSS, canvas, video, hover) tidak terdeteksi;
+ * matikan dengan {@code SCREENSHOT_CHANGE_DETECTION=false} untuk halaman seperti itu.
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class PageStateProbe {
+
+    private static final String SCRIPT =
+            "var s = window.__automationPageState;"
+            + "var fresh = !s;"
+            + "if (fresh) {"
+            + "  s = window.__automationPageState = { count: 0 };"
+            + "  var bump = function (n) { s.count += n; };"
+            + "  new MutationObserver(function (m) { bump(m.length); }).observe(document,"
+            + "    { subtree: true, childList: true, attributes: true, characterData: true });"
+            + "  document.addEventListener('input', function () { bump(1); }, true);"
+            + "  document.addEventListener('change', function () { bump(1); }, true);"
+            + "}"
+            + "return [fresh ? -1 : s.count, location.href, window.scrollX, window.scrollY,"
+            + "  window.innerWidth, window.innerHeight];";
+
+    /**
+     * Snapshot state halaman. {@code fresh} berarti observer baru dipasang di dokumen ini, sehingga
+     * state ini tidak bisa dibandingkan dengan state sebelumnya (tetapi menjadi acuan untuk state berikutnya).
+     */
+    public static final class PageState {
+        private final WebDriver driver;
+        private final boolean fresh;
+        private final long mutations;
+        private final String url;
+        private final List<?> geometry;
+
+        private PageState(WebDriver driver, boolean fresh, long mutations, String url, List<?> geometry) {
+            this.driver = driver;
+            this.fresh = fresh;
+            this.mutations = mutations;
+            this.url = url;
+            this.geometry = geometry;
+        }
+
+        /**
+         * @return true jika halaman pasti belum berubah sejak state {@code other}
+         */
+        public boolean unchangedSince(PageState other) {
+            return other != null
+                    && !fresh
+                    && driver == other.driver
+                    && mutations == other.mutations
+                    && Objects.equals(url, other.url)
+                    && Objects.equals(geometry, other.geometry);
+        }
+    }
+
+    /**
+     * Membaca state halaman saat ini.
+     *
+     * @return state, atau null jika driver tidak mendukung JavaScript atau script gagal
+     */
+    public static PageState probe(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) return null;
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(SCRIPT);
+            if (!(result instanceof List) || ((List<?>) result).size() < 6) return null;
+
+            List<?> values = (List<?>) result;
+            long mutations = ((Number) values.get(0)).longValue();
+            return new PageState(driver, mutations < 0, Math.max(0, mutations), String.valueOf(values.get(1)),
+                    List.copyOf(values.subList(2, 6)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.kenny.automation.Helper;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * ScreenshotCapture mengambil screenshot lewat DevTools <code>Page.captureScreenshot</code> (Chrome/Edge)
+ * dengan format terkompresi, downscale dan clipping, atau lewat {@link TakesScreenshot} biasa.
+ * <p>
+ * Pengaturan (lihat config.properties):
+ * <ul>
+ *   <li>{@code SCREENSHOT_CAPTURE} - {@code webdriver} (default, PNG penuh) atau {@code devtools};</li>
+ *   <li>{@code SCREENSHOT_FORMAT} - {@code png}, {@code jpeg} atau {@code webp} (hanya devtools);</li>
+ *   <li>{@code SCREENSHOT_QUALITY} - 0-100 untuk jpeg/webp;</li>
+ *   <li>{@code SCREENSHOT_SCALE} - faktor skala, contoh 0.5 untuk layar HiDPI;</li>
+ *   <li>{@code SCREENSHOT_COMPARE_BASELINE} - jika true, setiap capture devtools juga mengambil PNG
+ *       lewat WebDriver dan mencetak penghematan byte/waktu per capture (hanya untuk evaluasi).</li>
+ * </ul>
+ * Driver tanpa DevTools (Safari, Firefox, RemoteWebDriver tanpa augment) atau command yang gagal
+ * otomatis jatuh ke {@link TakesScreenshot}. Ringkasan jumlah, ukuran dan waktu rata-rata per jalur
+ * dicetak oleh {@link #printSummary()}.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ScreenshotCapture {
+
+    private static final boolean DEVTOOLS = "devtools".equalsIgnoreCase(ConfigLoader.getOrDefault("SCREENSHOT_CAPTURE", "webdriver"));
+    private static final String FORMAT = ConfigLoader.getOrDefault("SCREENSHOT_FORMAT", "png").toLowerCase(Locale.ROOT);
+    private static final int QUALITY = Math.max(0, Math.min(100, ConfigLoader.getInt("SCREENSHOT_QUALITY", 80)));
+    private static final double SCALE = parseScale(ConfigLoader.getOrDefault("SCREENSHOT_SCALE", "1.0"));
+    private static final boolean COMPARE_BASELINE = ConfigLoader.getBoolean("SCREENSHOT_COMPARE_BASELINE", false);
+
+    /** Posisi element/viewport dalam koordinat dokumen (CSS pixel), sesuai format clip DevTools. */
+    private static final String ELEMENT_RECT =
+            "var r = arguments[0].getBoundingClientRect();"
+            + "return [r.left + window.scrollX, r.top + window.scrollY, r.width, r.height];";
+    private static final String VIEWPORT_RECT =
+            "return [window.scrollX, window.scrollY, window.innerWidth, window.innerHeight];";
+
+    private static final Stats DEVTOOLS_STATS = new Stats();
+    private static final Stats WEBDRIVER_STATS = new Stats();
+    private static final Stats BASELINE_STATS = new Stats();
+    private static final AtomicBoolean FALLBACK_LOGGED = new AtomicBoolean();
+
+    private static final class Stats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+
+        private void record(byte[] data, long elapsedNanos) {
+            count.incrementAndGet();
+            bytes.addAndGet(data.length);
+            nanos.addAndGet(elapsedNanos);
+        }
+
+        private long avgBytes() {
+            return count.get() == 0 ? 0 : bytes.get() / count.get();
+        }
+
+        private double avgMillis() {
+            return count.get() == 0 ? 0 : nanos.get() / 1_000_000.0 / count.get();
+        }
+
+        private String describe() {
+            return "n=" + count.get() + " avg=" + (avgBytes() / 1024) + " KB "
+                    + String.format(Locale.ROOT, "%.1f", avgMillis()) + " ms";
+        }
+    }
+
+    /**
+     * Screenshot viewport.
+     *
+     * @param driver driver aktif
+     * @return byte gambar (PNG/JPEG/WebP sesuai pengaturan)
+     */
+    public static byte[] capture(WebDriver driver) {
+        return capture(driver, null, null);
+    }
+
+    /**
+     * Screenshot hanya area satu element, contoh panel ringkasan checkout. Tanpa DevTools dipakai
+     * screenshot element bawaan WebDriver (PNG).
+     *
+     * @param driver  driver aktif
+     * @param element element yang di-clip
+     * @return byte gambar
+     */
+    public static byte[] capture(WebDriver driver, WebElement element) {
+        return capture(driver, element, null);
+    }
+
+    /**
+     * Screenshot area tertentu dalam koordinat dokumen (CSS pixel). Tanpa DevTools jatuh ke
+     * screenshot viewport penuh.
+     *
+     * @return byte gambar
+     */
+    public static byte[] capture(WebDriver driver, double x, double y, double width, double height) {
+        return capture(driver, null, new double[] { x, y, width, height });
+    }
+
+    private static byte[] capture(WebDriver driver, WebElement element, double[] region) {
+        if (DEVTOOLS && driver instanceof HasCdp) {
+            try {
+                return captureDevTools(driver, element, region);
+            } catch (RuntimeException e) {
+                if (FALLBACK_LOGGED.compareAndSet(false, true)) {
+                    System.out.println("[SCREENSHOT] DevTools capture gagal, pakai TakesScreenshot: " + e.getMessage());
+                }
+            }
+        }
+        return captureWebDriver(driver, element);
+    }
+
+    private static byte[] captureWebDriver(WebDriver driver, WebElement element) {
+        long start = System.nanoTime();
+        byte[] png = element != null
+                ? element.getScreenshotAs(OutputType.BYTES)
+                : ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        WEBDRIVER_STATS.record(png, System.nanoTime() - start);
+        return png;
+    }
+
+    private static byte[] captureDevTools(WebDriver driver, WebElement element, double[] region) {
+        long start = System.nanoTime();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", FORMAT);
+        if (!"png".equals(FORMAT)) {
+            params.put("quality", QUALITY);
+        }
+        double[] clip = region;
+        if (clip == null && element != null) {
+            clip = rect(driver, ELEMENT_RECT, element);
+        } else if (clip == null && SCALE != 1.0) {
+            // Skala hanya bisa diterapkan lewat clip, jadi clip ke viewport saat ini
+            clip = rect(driver, VIEWPORT_RECT);
+        }
+        if (clip != null) {
+            Map<String, Object> area = new HashMap<>();
+            area.put("x", clip[0]);
+            area.put("y", clip[1]);
+            area.put("width", clip[2]);
+            area.put("height", clip[3]);
+            area.put("scale", SCALE);
+            params.put("clip", area);
+            // Clip memakai koordinat dokumen; tanpa ini area di luar viewport terpotong atau kosong
+            params.put("captureBeyondViewport", true);
+        }
+
+        Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Page.captureScreenshot", params);
+        byte[] image = Base64.getDecoder().decode((String) result.get("data"));
+        long elapsed = System.nanoTime() - start;
+        DEVTOOLS_STATS.record(image, elapsed);
+
+        if (COMPARE_BASELINE) {
+            long baselineStart = System.nanoTime();
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            long baselineElapsed = System.nanoTime() - baselineStart;
+            BASELINE_STATS.record(png, baselineElapsed);
+            System.out.println("[SCREENSHOT] " + FORMAT + ": " + (image.length / 1024) + " KB "
+                    + (elapsed / 1_000_000) + " ms vs PNG " + (png.length / 1024) + " KB "
+                    + (baselineElapsed / 1_000_000) + " ms (hemat " + percent(png.length - image.length, png.length)
+                    + " byte, " + percent(baselineElapsed - elapsed, baselineElapsed) + " waktu)");
+        }
+        return image;
+    }
+
+    private static double parseScale(String value) {
+        try {
+            double scale = Double.parseDouble(value.trim());
+            if (scale > 0) return scale;
+        } catch (NumberFormatException e) {
+            // fallback di bawah
+        }
+        System.out.println("[SCREENSHOT] SCREENSHOT_SCALE tidak valid: '" + value + "', memakai 1.0");
+        return 1.0;
+    }
+
+    private static double[] rect(WebDriver driver, String script, Object... args) {
+        List<?> values = (List<?>) ((JavascriptExecutor) driver).executeScript(script, args);
+        double[] rect = new double[4];
+        for (int i = 0; i < 4; i++) {
+            rect[i] = ((Number) values.get(i)).doubleValue();
+        }
+        return rect;
+    }
+
+    private static String percent(long saved, long total) {
+        return total == 0 ? "0%" : (saved * 100 / total) + "%";
+    }
+
+    /**
+     * Mencetak ringkasan capture per jalur. Tidak mencetak apa pun jika belum ada screenshot.
+     */
+    public static void printSummary() {
+        if (DEVTOOLS_STATS.count.get() == 0 && WEBDRIVER_STATS.count.get() == 0) return;
+
+        StringBuilder summary = new StringBuilder("[SCREENSHOT] capture=")
+                .append(DEVTOOLS ? "devtools" : "webdriver");
+        if (DEVTOOLS_STATS.count.get() > 0) {
+            summary.append(" | devtools(").append(FORMAT);
+            if (!"png".equals(FORMAT)) summary.append(" q=").append(QUALITY);
+            summary.append(" scale=").append(SCALE).append(") ").append(DEVTOOLS_STATS.describe());
+        }
+        if (WEBDRIVER_STATS.count.get() > 0) {
+            summary.append(" | webdriver(png) ").append(WEBDRIVER_STATS.describe());
+        }
+        if (BASELINE_STATS.count.get() > 0) {
+            summary.append(" | baseline(png) ").append(BASELINE_STATS.describe())
+                    .append(" | hemat per capture ")
+                    .append(percent(BASELINE_STATS.avgBytes() - DEVTOOLS_STATS.avgBytes(), BASELINE_STATS.avgBytes()))
+                    .append(" byte, ")
+                    .append(percent(BASELINE_STATS.nanos.get() - DEVTOOLS_STATS.nanos.get(), BASELINE_STATS.nanos.get()))
+                    .append(" waktu");
+        }
+        System.out.println(summary);
+    }
+}
@@ -6,14 +6,31 @@ import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.kenny.automation.Helper.JsonHelper;
 
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
 import io.restassured.http.Headers;
 import io.restassured.response.Response;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.UUID;
 
+/**
+ * ApiLogHelper mencatat request dan response API ke Extent dan Allure.
+ * <p>
+ * Di thread test hanya dilakukan pekerjaan murah: membuat node Extent dan step Allure (agar urutan
+ * di report tetap sama dengan urutan request) serta mengambil snapshot data. Format JSON dan
+ * penulisan isi report dikerjakan {@link ApiLogWriter} di background, sehingga latency request
+ * yang diukur test tidak termasuk waktu formatting report.
+ * </p>
+ */
 public class ApiLogHelper {
 
+    private static final String REQUEST_LABEL = MarkupHelper.createLabel("Request Info", ExtentColor.BLACK).getMarkup();
+    private static final String RESPONSE_LABEL = MarkupHelper.createLabel("Response Info", ExtentColor.BLACK).getMarkup();
+    private static final String DROPPED_MESSAGE = "Detail log tidak dicatat (antrian log API penuh)";
+
     private final ExtentTest test;
 
     public ApiLogHelper(ExtentTest test) {
@@ -21,63 +38,114 @@ public class ApiLogHelper {
     }
 
     public void logRequest(String method, String endpoint, Headers headers, String requestBody) {
-        // Extent
-        ExtentTest requestNode = test.createNode(
-                MarkupHelper.createLabel("Request Info", ExtentColor.BLACK).getMarkup()
-        );
+        ExtentTest requestNode = test.createNode(REQUEST_LABEL);
+        boolean hasHeaders = headers != null && headers.exist();
+        boolean hasBody = requestBody != null && !requestBody.isEmpty();
 
-        if (headers != null && !headers.asList().isEmpty()) {
-            requestNode.info("Headers: " + headers.toString());
-        }
+        AllureStep step = AllureStep.start("API Request: " + method + " " + endpoint);
+        String headersSource = hasHeaders ? step.prepare("Headers", "text/plain", ".txt") : null;
+        String bodySource = hasBody ? step.prepare("Request Body", "text/plain", ".txt") : null;
 
-        if (requestBody != null && !requestBody.isEmpty()) {
-            requestNode.info("Method: " + method);
-            requestNode.info("Endpoint: " + endpoint);
-            String pretty = JsonHelper.prettyPrint(requestBody);
-            requestNode.info(MarkupHelper.createLabel("Request Body:", ExtentColor.BLUE));
-            requestNode.info(MarkupHelper.createCodeBlock(pretty));
+        boolean queued = ApiLogWriter.submit(() -> {
+            if (hasHeaders) {
+                String headerText = headers.toString();
+                requestNode.info("Headers: " + headerText);
+                step.write(headersSource, headerText.getBytes(StandardCharsets.UTF_8));
+            }
+            if (hasBody) {
+                requestNode.info("Method: " + method);
+                requestNode.info("Endpoint: " + endpoint);
+                requestNode.info(MarkupHelper.createLabel("Request Body:", ExtentColor.BLUE));
+                requestNode.info(MarkupHelper.createCodeBlock(JsonHelper.prettyPrint(requestBody)));
+                step.write(bodySource, requestBody.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        if (!queued) {
+            requestNode.info(DROPPED_MESSAGE);
+            step.clearAttachments();
         }
+        step.stop();
+    }
 
-        // Allure
-        Allure.step("API Request: " + method + " " + endpoint, () -> {
-            if (headers != null && !headers.asList().isEmpty()) {
-                Allure.addAttachment("Headers", headers.toString());
+    public void logResponse(Response response) {
+        ExtentTest responseNode = test.createNode(RESPONSE_LABEL);
+
+        // Snapshot: Headers REST Assured immutable dan body sudah dibaca transport
+        int statusCode = response.getStatusCode();
+        Headers headers = response.getHeaders();
+        byte[] body = response.asByteArray();
+        boolean hasHeaders = headers != null && headers.exist();
+        boolean hasBody = body != null && body.length > 0;
+
+        AllureStep step = AllureStep.start("API Response");
+        String statusSource = step.prepare("Status Code", "text/plain", ".txt");
+        String headersSource = hasHeaders ? step.prepare("Headers", "text/plain", ".txt") : null;
+        String bodySource = hasBody ? step.prepare("Response Body", null, "") : null;
+
+        boolean queued = ApiLogWriter.submit(() -> {
+            responseNode.info("Status Code: " + statusCode);
+            step.write(statusSource, String.valueOf(statusCode).getBytes(StandardCharsets.UTF_8));
+            if (hasHeaders) {
+                String headerText = headers.toString();
+                responseNode.info("Headers: " + headerText);
+                step.write(headersSource, headerText.getBytes(StandardCharsets.UTF_8));
             }
-            if (requestBody != null && !requestBody.isEmpty()) {
-                Allure.addAttachment("Request Body", requestBody);
+            if (hasBody) {
+                String pretty = JsonHelper.prettyPrint(body);
+                responseNode.info(MarkupHelper.createLabel("Response Body:", ExtentColor.GREEN));
+                responseNode.info(MarkupHelper.createCodeBlock(pretty));
+                step.write(bodySource, body);
             }
         });
+
+        if (!queued) {
+            responseNode.info("Status Code: " + statusCode);
+            responseNode.info(DROPPED_MESSAGE);
+            step.clearAttachments();
+        }
+        step.stop();
     }
 
-    public void logResponse(Response response) {
-        // Extent
-        ExtentTest responseNode = test.createNode(
-                MarkupHelper.createLabel("Response Info", ExtentColor.BLACK).getMarkup()
-        );
+    /**
+     * Step Allure yang dibuat di thread test (metadata saja), sementara isi attachment
+     * ditulis belakangan oleh background writer. Tidak melakukan apa pun jika tidak ada
+     * test Allure yang sedang berjalan.
+     */
+    private static final class AllureStep {
+        private final AllureLifecycle lifecycle;
+        private final String uuid;
+
+        private AllureStep(AllureLifecycle lifecycle, String uuid) {
+            this.lifecycle = lifecycle;
+            this.uuid = uuid;
+        }
 
-        responseNode.info("Status Code: " + response.getStatusCode());
+        static AllureStep start(String name) {
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) return new AllureStep(null, null);
 
-        Headers headers = response.getHeaders();
-        if (headers != null && !headers.asList().isEmpty()) {
-            responseNode.info("Headers: " + headers.toString());
+            String uuid = UUID.randomUUID().toString();
+            lifecycle.startStep(uuid, new StepResult().setName(name).setStatus(Status.PASSED));
+            return new AllureStep(lifecycle, uuid);
         }
 
-        String body = response.getBody().asString();
-        if (body != null && !body.isEmpty()) {
-            String pretty = JsonHelper.prettyPrint(body);
-            responseNode.info(MarkupHelper.createLabel("Response Body:", ExtentColor.GREEN));
-            responseNode.info(MarkupHelper.createCodeBlock(pretty));
+        String prepare(String name, String type, String extension) {
+            return lifecycle == null ? null : lifecycle.prepareAttachment(name, type, extension);
         }
 
-        // Allure
-        Allure.step("API Response", () -> {
-            Allure.addAttachment("Status Code", String.valueOf(response.getStatusCode()));
-            if (headers != null && !headers.asList().isEmpty()) {
-                Allure.addAttachment("Headers", headers.toString());
-            }
-            if (body != null && !body.isEmpty()) {
-                Allure.addAttachment("Response Body", new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        void write(String source, byte[] content) {
+            if (lifecycle != null && source != null) {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(content));
             }
-        });
+        }
+
+        void clearAttachments() {
+            if (lifecycle != null) lifecycle.updateStep(uuid, step -> step.getAttachments().clear());
+        }
+
+        void stop() {
+            if (lifecycle != null) lifecycle.stopStep(uuid);
+        }
     }
 }
@@ -0,0 +1,197 @@
+package com.kenny.automation.Listeners;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * ApiLogWriter adalah satu background thread yang menulis log request/response API ke
+ * Extent dan Allure, sehingga format JSON dan penulisan report tidak lagi dijalankan di thread test.
+ * <p>
+ * {@link ApiLogHelper} hanya mengambil snapshot data (string/byte yang sudah ada) lalu menyerahkan
+ * tugas penulisan ke antrian berukuran tetap ({@code API_LOG_QUEUE_SIZE}, default 1000). Perilaku
+ * ketika antrian penuh diatur dengan {@code API_LOG_OVERFLOW}:
+ * <ul>
+ *   <li>{@code block} (default) - thread test menunggu sampai ada ruang (backpressure), tidak ada log yang hilang;</li>
+ *   <li>{@code drop} - detail log di-drop dan dihitung;</li>
+ *   <li>{@code sample} - saat antrian lebih dari setengah penuh hanya 1 dari {@code API_LOG_SAMPLE_RATE}
+ *       (default 10) detail yang dicatat, sisanya di-drop.</li>
+ * </ul>
+ * Log dicatat per test (test Extent aktif di thread pemanggil). {@link #flush(ExtentTest)} di akhir
+ * test hanya menunggu log milik test itu, tidak menunggu antrian worker lain; {@link ExtentNode}
+ * menunda publish test selama log-nya masih ditulis. {@link #flush()} menunggu seluruh antrian dan
+ * dipanggil di akhir suite.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ApiLogWriter {
+
+    private static final int QUEUE_SIZE = Math.max(1, ConfigLoader.getInt("API_LOG_QUEUE_SIZE", 1000));
+    private static final String OVERFLOW = ConfigLoader.getOrDefault("API_LOG_OVERFLOW", "block").toLowerCase();
+    private static final int SAMPLE_RATE = Math.max(1, ConfigLoader.getInt("API_LOG_SAMPLE_RATE", 10));
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final BlockingQueue<Runnable> QUEUE = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private static final AtomicLong WRITTEN = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong SAMPLE_COUNTER = new AtomicLong();
+
+    /**
+     * Tugas terakhir yang diantrikan per test. Writer hanya satu thread (FIFO), jadi jika tugas
+     * terakhir selesai maka semua tugas test tersebut sudah selesai.
+     */
+    private static final Map<ExtentTest, CompletableFuture<Void>> LAST_TASK = new ConcurrentHashMap<>();
+
+    static {
+        Thread writer = new Thread(ApiLogWriter::run, "api-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Menyerahkan tugas penulisan ke background writer sesuai policy {@code API_LOG_OVERFLOW}.
+     * Tugas dicatat sebagai milik test Extent yang aktif di thread pemanggil.
+     *
+     * @param task tugas yang hanya memakai data snapshot (immutable)
+     * @return true jika tugas diantrikan, false jika di-drop
+     */
+    static boolean submit(Runnable task) {
+        ExtentTest owner = ExtentNode.getTest();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        boolean queued = enqueue(() -> {
+            try {
+                task.run();
+                WRITTEN.incrementAndGet();
+            } finally {
+                done.complete(null);
+            }
+        });
+        if (queued && owner != null) {
+            LAST_TASK.put(owner, done);
+            done.whenComplete((result, error) -> LAST_TASK.remove(owner, done));
+        }
+        return queued;
+    }
+
+    /**
+     * Future yang selesai ketika semua log milik test tersebut sudah ditulis.
+     *
+     * @param test test Extent (parent) pemilik log
+     * @return future log terakhir test tersebut, atau future yang sudah selesai jika tidak ada log tertunda
+     */
+    public static CompletableFuture<Void> pending(ExtentTest test) {
+        CompletableFuture<Void> last = test == null ? null : LAST_TASK.get(test);
+        return last != null ? last : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Menunggu sampai semua log milik satu test selesai ditulis, tanpa menunggu log test lain.
+     *
+     * @param test test Extent (parent) pemilik log
+     * @return true jika semua log test tersebut sudah tertulis, false jika timeout
+     */
+    public static boolean flush(ExtentTest test) {
+        if (Thread.currentThread().getName().equals("api-log-writer")) return true;
+        try {
+            pending(test).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            System.err.println("[API-LOG] Flush timeout, log test '" + test.getModel().getName() + "' masih ditulis");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private static boolean enqueue(Runnable task) {
+        switch (OVERFLOW) {
+            case "drop":
+                return offerOrDrop(task);
+            case "sample":
+                if (QUEUE.remainingCapacity() < QUEUE_SIZE / 2
+                        && SAMPLE_COUNTER.incrementAndGet() % SAMPLE_RATE != 0) {
+                    DROPPED.incrementAndGet();
+                    return false;
+                }
+                return offerOrDrop(task);
+            default:
+                try {
+                    QUEUE.put(task);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    DROPPED.incrementAndGet();
+                    return false;
+                }
+        }
+    }
+
+    private static boolean offerOrDrop(Runnable task) {
+        if (QUEUE.offer(task)) return true;
+        DROPPED.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Menunggu sampai semua tugas (semua test) yang sudah diantrikan sebelum pemanggilan ini
+     * selesai ditulis. Tugas flush selalu diantrikan dengan blocking agar tidak pernah ikut di-drop.
+     */
+    public static void flush() {
+        if (Thread.currentThread().getName().equals("api-log-writer")) return;
+
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            QUEUE.put(done::countDown);
+            if (!done.await(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("[API-LOG] Flush timeout, " + QUEUE.size() + " log masih di antrian");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Mencetak jumlah log yang ditulis dan di-drop. Tidak mencetak apa pun jika tidak ada log.
+     */
+    public static void printSummary() {
+        if (WRITTEN.get() == 0 && DROPPED.get() == 0) return;
+        System.out.println("[API-LOG] overflow=" + OVERFLOW + " queue=" + QUEUE_SIZE
+                + " written=" + WRITTEN.get() + " dropped=" + DROPPED.get());
+    }
+
+    /**
+     * Loop writer. Semua error dari satu tugas (termasuk {@link Error} seperti OutOfMemoryError pada
+     * body besar) hanya men-drop tugas tersebut; thread berhenti hanya jika di-interrupt. Tanpa ini
+     * thread test bisa tertahan selamanya di {@code QUEUE.put} pada mode {@code block}.
+     */
+    private static void run() {
+        while (true) {
+            Runnable task;
+            try {
+                task = QUEUE.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                DROPPED.incrementAndGet();
+                System.err.println("[API-LOG] Log API di-drop, gagal ditulis: " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.kenny.automation.Listeners;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * ApiRunModeListener mengatur cara suite API dijalankan berdasarkan {@code API_RUN_MODE}.
+ * <ul>
+ *   <li>{@code sequential} (default) - suite berjalan sesuai APISuite.xml.</li>
+ *   <li>{@code concurrent} - test method dan baris data provider dijalankan bersamaan, maksimal
+ *       {@code API_CONCURRENCY} (default 16) sekaligus. Karena hampir semua waktu test API dihabiskan
+ *       menunggu response, suite selesai mendekati durasi request terlama.</li>
+ * </ul>
+ * Mode concurrent hanya mengubah pengaturan {@link XmlSuite}, sehingga test dijalankan oleh thread
+ * pool bawaan TestNG. Logging dan report tetap terisolasi per test karena {@link ExtentNode},
+ * {@link LogHelper} dan {@link ApiLogManager} menyimpan state di ThreadLocal milik thread yang menjalankan test tersebut.
+ *
+ * <pre>
+ * &lt;listener class-name="com.kenny.automation.Listeners.ApiRunModeListener"/&gt;
+ * mvn test -DsuiteFile=APISuite.xml -DAPI_RUN_MODE=concurrent -DAPI_CONCURRENCY=32
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ApiRunModeListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!"concurrent".equalsIgnoreCase(ConfigLoader.getOrDefault("API_RUN_MODE", "sequential"))) return;
+
+        int concurrency = Math.max(1, ConfigLoader.getInt("API_CONCURRENCY", 16));
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(concurrency);
+            suite.setDataProviderThreadCount(concurrency);
+        }
+
+        System.out.println("[API-RUN] mode=concurrent concurrency=" + concurrency);
+    }
+}
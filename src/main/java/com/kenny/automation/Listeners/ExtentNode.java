@@ -1,5 +1,8 @@
 package com.kenny.automation.Listeners;
 
+import java.util.concurrent.CompletableFuture;
+
+import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 
 public class ExtentNode {
@@ -7,11 +10,24 @@ public class ExtentNode {
     private static ThreadLocal<ExtentTest> parentTest = new ThreadLocal<>();
     private static ThreadLocal<ExtentTest> nodeTest = new ThreadLocal<>();
 
+    /**
+     * Report draft tanpa reporter, berisi test yang sedang berjalan di thread ini. Dipindahkan ke
+     * report bersama oleh {@link #finishTest()}.
+     */
+    private static ThreadLocal<ExtentReports> draft = new ThreadLocal<>();
+
     /**
      * Membuat parent test baru untuk thread saat ini.
      */
     public static ExtentTest createTest(String testName) {
-        ExtentTest test = ExtentReportsManager.getExtentReports().createTest(testName);
+        finishTest();
+        return startTest(testName);
+    }
+
+    private static ExtentTest startTest(String testName) {
+        ExtentReports report = new ExtentReports();
+        ExtentTest test = report.createTest(testName);
+        draft.set(report);
         parentTest.set(test);
         return test;
     }
@@ -29,8 +45,7 @@ public class ExtentNode {
     public static ExtentTest createNode(String stepName) {
         ExtentTest parent = parentTest.get();
         if (parent == null) {
-            parent = ExtentReportsManager.getExtentReports().createTest("Unnamed Test (Auto Created)");
-            parentTest.set(parent);
+            parent = startTest("Unnamed Test (Auto Created)");
         }
         ExtentTest node = parent.createNode(stepName);
         nodeTest.set(node);
@@ -45,8 +60,7 @@ public class ExtentNode {
         if (node == null) {
             node = parentTest.get();
             if (node == null) {
-                node = ExtentReportsManager.getExtentReports().createTest("Unnamed Test (Auto Created)");
-                parentTest.set(node);
+                node = startTest("Unnamed Test (Auto Created)");
             }
         }
         return node;
@@ -71,10 +85,32 @@ public class ExtentNode {
     }
 
     /**
-     * Bersihkan thread local di akhir suite.
+     * Memindahkan test yang sedang aktif di thread ini ke report bersama (lihat
+     * {@link ExtentReportsManager#publish(ExtentReports)}). Jika log API atau screenshot test ini masih
+     * ditulis di background, publish ditunda sampai selesai. Dipanggil di akhir setiap test; aman dipanggil
+     * jika tidak ada test aktif.
      */
-    public static void remove() {
+    public static void finishTest() {
+        ExtentReports report = draft.get();
+        ExtentTest test = parentTest.get();
         parentTest.remove();
         nodeTest.remove();
+        draft.remove();
+        if (report == null) return;
+
+        // Test tidak dipublish selama log API atau screenshot-nya masih ditulis di background
+        CompletableFuture<Void> writes = CompletableFuture.allOf(ApiLogWriter.pending(test), ScreenshotPipeline.pending(test));
+        if (writes.isDone()) {
+            ExtentReportsManager.publish(report);
+        } else {
+            writes.whenComplete((result, error) -> ExtentReportsManager.publish(report));
+        }
+    }
+
+    /**
+     * Bersihkan thread local di akhir suite. Test yang belum dipindahkan ikut dipublish.
+     */
+    public static void remove() {
+        finishTest();
     }
 }
@@ -1,10 +1,22 @@
 package com.kenny.automation.Listeners;
 
 import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.model.NamedAttribute;
+import com.aventstack.extentreports.model.Report;
+import com.aventstack.extentreports.model.Test;
+import com.aventstack.extentreports.model.context.NamedAttributeContext;
+import com.aventstack.extentreports.model.context.NamedAttributeContextManager;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.kenny.automation.Helper.ConfigLoader;
 
 /**
  * <h1>ExtentReportsManager</h1> Kelas utilitas untuk menginisialisasi dan
@@ -19,9 +31,21 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
  * <li>Membuat file report dengan nama berdasarkan timestamp</li>
  * <li>Mengatur konfigurasi report seperti judul, nama report, dan tema</li>
  * <li>Menyediakan sistem informasi seperti nama tester dan environment</li>
+ * <li>Flush bertahap: test yang sudah selesai ditulis ke disk secara berkala</li>
  * </ul>
  *
  * <p>
+ * <b>Flush bertahap:</b> setiap test dibangun di {@link ExtentReports} draft milik thread-nya
+ * (lihat {@link ExtentNode}), sehingga thread paralel tidak saling menunggu saat menulis log. Setelah
+ * selesai test diserahkan lewat {@link #publish(ExtentReports)} ke antrian lock-free; thread yang
+ * kebetulan melewati batas flush memindahkan antrian ke report bersama dan flush, thread lain
+ * langsung lanjut (tidak pernah menunggu flush). Report di-flush setiap {@code EXTENT_FLUSH_EVERY_TESTS} test (default 10), sehingga
+ * jika run berhenti di tengah jalan report parsial tetap bisa dibuka. Setelah
+ * {@code EXTENT_MAX_TESTS_PER_FILE} test (default 500) file report ditutup dan dilanjutkan ke file
+ * berikutnya (<code>... part 2.html</code>), sehingga model di memory tidak tumbuh mengikuti ukuran suite.
+ * </p>
+ *
+ * <p>
  * <b>Penggunaan:</b>
  * </p>
  * 
@@ -32,7 +56,8 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
  *
  * <p>
  * Class ini memastikan hanya ada satu instance {@link ExtentReports}
- * (singleton) yang digunakan selama seluruh eksekusi test suite.
+ * (singleton) yang digunakan selama seluruh eksekusi test suite. Inisialisasi
+ * aman dipanggil dari banyak thread sekaligus dan hanya membuat satu file report.
  * </p>
  *
  * @author Kenny Ramadhan
@@ -41,8 +66,34 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
 
 public class ExtentReportsManager {
 
-	static ExtentReports extent;
+	private static volatile ExtentReports extent;
+
+	/** Menjaga model report bersama: inisialisasi, pemindahan test, flush dan rotasi file. */
+	private static final ReentrantLock LOCK = new ReentrantLock();
+
+	/** Test yang sudah selesai dan menunggu dipindahkan ke report bersama. */
+	private static final Queue<ExtentReports> PENDING = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger PENDING_COUNT = new AtomicInteger();
 
+	/** Folder report HTML; screenshot eksternal disimpan di subfolder-nya. */
+	private static final String REPORT_DIR = System.getProperty("user.dir") + "/reports/summary-report/";
+
+	private static final int FLUSH_EVERY = Math.max(1, ConfigLoader.getInt("EXTENT_FLUSH_EVERY_TESTS", 10));
+	private static final int MAX_TESTS_PER_FILE = ConfigLoader.getInt("EXTENT_MAX_TESTS_PER_FILE", 500);
+
+	/** System info dicatat agar bisa dipasang ulang di setiap file part. */
+	private static final Map<String, String> systemInfo = new LinkedHashMap<>();
+
+	private static String reportName;
+	private static int part = 1;
+	private static int testsInPart;
+
+	/**
+	 * Mengembalikan folder tempat file report HTML ditulis (diakhiri "/").
+	 */
+	public static String getReportDirectory() {
+		return REPORT_DIR;
+	}
 
 
 	/**
@@ -55,34 +106,135 @@ public class ExtentReportsManager {
 	 * <li>Nama report: "Regression Suite"</li>
 	 * <li>Tema: {@link Theme#DARK}</li>
 	 * </ul>
+	 * Test sebaiknya dibuat lewat {@link ExtentNode#createTest(String)}; test yang dibuat langsung di
+	 * instance ini ikut ter-flush tetapi tidak terisolasi dari thread lain.
 	 *
 	 * @return objek {@link ExtentReports} yang siap digunakan
 	 */
 
 	public static ExtentReports getExtentReports() {
+		ExtentReports current = extent;
+		if (current != null) {
+			return current;
+		}
+
+		LOCK.lock();
+		try {
+			if (extent == null) {
+				File directory = new File(REPORT_DIR);
+				if (!directory.exists()) {
+					directory.mkdirs();
+				}
+
+				String timeStamp = new java.text.SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new java.util.Date());
+				reportName = " Regression " + timeStamp;
+				systemInfo.putIfAbsent("Tester", System.getProperty("user.name"));
+				systemInfo.putIfAbsent("Environment", "UAT");
+				extent = createReport(REPORT_DIR + reportName + ".html");
+			}
+			return extent;
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	private static ExtentReports createReport(String reportPath) {
+        ExtentSparkReporter spark = new ExtentSparkReporter(reportPath);
+        spark.config().setDocumentTitle("Automation Sales4u");
+        spark.config().setReportName("Regression Suite");
+        spark.config().setTheme(Theme.DARK);
+        // Thumbnail hanya relevan jika screenshot di-embed sebagai base64 (SCREENSHOT_STORE=embedded)
+        spark.config().thumbnailForBase64(!ScreenshotStore.isExternal());
+
+        ExtentReports report = new ExtentReports();
+        report.attachReporter(spark);
+        systemInfo.forEach(report::setSystemInfo);
+        return report;
+	}
+
+	/**
+	 * Menambahkan system info ke report aktif dan ke setiap file part berikutnya.
+	 */
+	public static void setSystemInfo(String key, String value) {
+		LOCK.lock();
+		try {
+			systemInfo.put(key, value);
+			if (extent != null) {
+				extent.setSystemInfo(key, value);
+			}
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Menyerahkan test yang sudah selesai (draft milik thread pemanggil) ke report bersama. Tidak
+	 * pernah menunggu: jika sudah {@code EXTENT_FLUSH_EVERY_TESTS} test mengantri dan tidak ada thread
+	 * lain yang sedang flush, thread ini yang memindahkan antrian dan flush.
+	 *
+	 * @param draft report draft berisi satu test yang sudah selesai
+	 */
+	public static void publish(ExtentReports draft) {
+		PENDING.add(draft);
+		if (PENDING_COUNT.incrementAndGet() >= FLUSH_EVERY && LOCK.tryLock()) {
+			try {
+				drainAndFlush();
+			} finally {
+				LOCK.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Menulis semua test yang sudah dipublish ke file report aktif. Menunggu flush yang sedang berjalan.
+	 */
+	public static void flush() {
+		LOCK.lock();
+		try {
+			drainAndFlush();
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Memindahkan antrian ke report bersama lalu flush; pindah ke file part berikutnya jika batas
+	 * test per file tercapai. Dipanggil dengan {@link #LOCK} dipegang.
+	 */
+	private static void drainAndFlush() {
+		ExtentReports target = getExtentReports();
+		ExtentReports draft;
+		while ((draft = PENDING.poll()) != null) {
+			PENDING_COUNT.decrementAndGet();
+			if (MAX_TESTS_PER_FILE > 0 && testsInPart >= MAX_TESTS_PER_FILE) {
+				target.flush();
+				part++;
+				testsInPart = 0;
+				// Model part sebelumnya dilepas; test berikutnya masuk ke file baru
+				target = createReport(REPORT_DIR + reportName + " part " + part + ".html");
+				extent = target;
+			}
+			testsInPart += moveTests(draft.getReport(), target.getReport());
+		}
+		target.flush();
+	}
+
+	private static int moveTests(Report source, Report target) {
+		source.getTestList().forEach(target::addTest);
+		copyContext(source.getAuthorCtx(), target.getAuthorCtx());
+		copyContext(source.getCategoryCtx(), target.getCategoryCtx());
+		copyContext(source.getDeviceCtx(), target.getDeviceCtx());
+		copyContext(source.getExceptionInfoCtx(), target.getExceptionInfoCtx());
+		return source.getTestList().size();
+	}
 
-		if (extent == null) {
-            String reportDir = System.getProperty("user.dir") + "/reports/summary-report/";
-            File directory = new File(reportDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-
-            String timeStamp = new java.text.SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new java.util.Date());
-            String reportPath = reportDir  + " Regression " + timeStamp + ".html";
-
-            ExtentSparkReporter spark = new ExtentSparkReporter(reportPath);
-            spark.config().setDocumentTitle("Automation Sales4u");
-            spark.config().setReportName("Regression Suite");
-            spark.config().setTheme(Theme.DARK);
-            spark.config().thumbnailForBase64(true);
-
-            extent = new ExtentReports();
-            extent.attachReporter(spark);
-            extent.setSystemInfo("Tester", System.getProperty("user.name"));
-            extent.setSystemInfo("Environment", "UAT");
-        }
-        return extent;
+	private static <T extends NamedAttribute> void copyContext(NamedAttributeContextManager<T> from,
+			NamedAttributeContextManager<T> to) {
+		for (NamedAttributeContext<T> context : from.getSet()) {
+			for (Test test : context.getTestList()) {
+				to.addContext(context.getAttr(), test);
+			}
+		}
 	}
 
 }
@@ -1,13 +1,15 @@
 package com.kenny.automation.Listeners;
 
-import java.io.ByteArrayInputStream;
-import java.util.Base64;
+import org.openqa.selenium.WebElement;
 
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.ExtentColor;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.kenny.automation.Config.WebDriverManager;
+import com.kenny.automation.Helper.ConfigLoader;
 import com.kenny.automation.Helper.CustomCommand;
+import com.kenny.automation.Helper.PageStateProbe;
 
 import io.qameta.allure.Allure;
 
@@ -19,6 +21,21 @@ public class LogHelper {
     /** Node step yang sedang aktif, per thread */
     private static ThreadLocal<ExtentTest> currentStepNode = new ThreadLocal<>();
 
+    /** Screenshot terakhir beserta state halaman saat diambil, per thread */
+    private static ThreadLocal<Capture> lastCapture = new ThreadLocal<>();
+
+    private static final boolean CHANGE_DETECTION = ConfigLoader.getBoolean("SCREENSHOT_CHANGE_DETECTION", true);
+
+    private static final class Capture {
+        private final PageStateProbe.PageState state;
+        private final byte[] png;
+
+        private Capture(PageStateProbe.PageState state, byte[] png) {
+            this.state = state;
+            this.png = png;
+        }
+    }
+
     /** Nama test case saat ini, per thread */
     private static ThreadLocal<String> currentTestName = new ThreadLocal<>();
 
@@ -30,6 +47,9 @@ public class LogHelper {
     /** Reset counter step ke 1 untuk thread ini */
     public static void resetCounter() {
         stepCounter.set(1);
+        // Node step milik test sebelumnya sudah dipublish ke report bersama
+        currentStepNode.remove();
+        lastCapture.remove();
     }
 
     /** Tambahkan step baru di log (Extents + Allure) */
@@ -43,20 +63,45 @@ public class LogHelper {
         Allure.step(message);
     }
 
-    /** Log detail + screenshot */
+    /**
+     * Log detail + screenshot sesuai {@link ScreenshotPolicyEngine}. Screenshot diambil di thread
+     * test, lalu simpan dan attach ke Extent/Allure dikerjakan {@link ScreenshotPipeline} di background.
+     */
     public static void detail(String message) {
+        detail(message, false);
+    }
+
+    /**
+     * Log detail yang ditandai sebagai key step: screenshot tetap diambil pada policy
+     * {@code key} dan {@code every-n}.
+     */
+    public static void keyDetail(String message) {
+        detail(message, true);
+    }
+
+    /**
+     * Key step dengan screenshot yang di-clip ke satu element (contoh: panel ringkasan checkout),
+     * lebih kecil daripada screenshot viewport penuh.
+     */
+    public static void keyDetail(String message, WebElement region) {
+        detail(message, true, region);
+    }
+
+    private static void detail(String message, boolean keyStep) {
+        detail(message, keyStep, null);
+    }
+
+    private static void detail(String message, boolean keyStep, WebElement region) {
         ExtentTest node = currentStepNode.get();
         if (node != null) {
             node.log(Status.INFO, MarkupHelper.createLabel(message, ExtentColor.GREEN).getMarkup());
 
-            String screenshotBase64 = CustomCommand.captureScreenshotBase64(message);
+            if (!ScreenshotPolicyEngine.captureDetail(keyStep)) return;
             try {
-                if (screenshotBase64 != null) {
-                    node.addScreenCaptureFromBase64String(screenshotBase64, message);
-
-                    byte[] decodedScreenshot = Base64.getDecoder().decode(screenshotBase64);
-                    Allure.addAttachment(message, new ByteArrayInputStream(decodedScreenshot));
-                }
+                byte[] screenshot = region != null
+                        ? CustomCommand.captureElementScreenshotBytes(region, message)
+                        : captureIfChanged(message);
+                ScreenshotPipeline.submit(node, message, screenshot);
             } catch (Exception e) {
                 node.warning("Gagal attach screenshot: " + e.getMessage());
             }
@@ -66,6 +111,34 @@ public class LogHelper {
         }
     }
 
+    /**
+     * Mengambil screenshot baru hanya jika halaman berubah sejak screenshot terakhir di thread ini
+     * (lihat {@link PageStateProbe}); jika tidak berubah, byte screenshot sebelumnya dipakai ulang
+     * tanpa memanggil <code>getScreenshotAs</code>.
+     */
+    private static byte[] captureIfChanged(String message) {
+        if (!CHANGE_DETECTION) return CustomCommand.captureScreenshotBytes(message);
+
+        PageStateProbe.PageState state = PageStateProbe.probe(WebDriverManager.getDriver());
+        Capture previous = lastCapture.get();
+        if (state != null && previous != null && state.unchangedSince(previous.state)) {
+            return previous.png;
+        }
+
+        byte[] png = CustomCommand.captureScreenshotBytes(message);
+        lastCapture.set(png == null ? null : new Capture(state, png));
+        return png;
+    }
+
+    /**
+     * Screenshot untuk hasil akhir test ({@link TestListeners}). Memakai cache yang sama dengan
+     * {@link #detail(String)}, sehingga jika halaman tidak berubah sejak detail terakhir, byte
+     * screenshot yang sama dipakai ulang tanpa capture kedua.
+     */
+    static byte[] captureForResult(String name) {
+        return captureIfChanged(name);
+    }
+
     /** Log PASS */
     public static void pass(String message) {
         ExtentTest node = currentStepNode.get();
@@ -0,0 +1,167 @@
+package com.kenny.automation.Listeners;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * LongestFirstScheduler mengurutkan test berdasarkan durasi dari run sebelumnya
+ * ({@link TestDurationHistory}) sehingga test terlama dijalankan lebih dulu.
+ * <p>
+ * Dengan <code>parallel="classes"</code>, class dibagikan ke thread sesuai urutan. Menjalankan
+ * class dengan total durasi terbesar lebih dulu (longest processing time first) mencegah satu class
+ * panjang menjadi satu-satunya yang masih berjalan di akhir suite. Di dalam class, method dan
+ * baris data provider juga diurutkan dari yang terlama.
+ * </p>
+ * <p>
+ * Estimasi untuk test tanpa history:
+ * <ul>
+ *   <li>method baru memakai median durasi method lain di class yang sama, lalu median seluruh suite;</li>
+ *   <li>baris data provider baru memakai rata-rata baris lain dari method yang sama;</li>
+ *   <li>tanpa history sama sekali, urutan deklarasi di suite dipertahankan.</li>
+ * </ul>
+ * Durasi dicatat setiap test selesai dan ditulis ke file di akhir &lt;test&gt;.
+ * Scheduling bisa dimatikan dengan {@code TEST_SCHEDULING=declared}.
+ * </p>
+ *
+ * <pre>
+ * &lt;listener class-name="com.kenny.automation.Listeners.LongestFirstScheduler"/&gt;
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, IDataProviderInterceptor, ITestListener {
+
+    private static boolean isEnabled() {
+        return !"declared".equalsIgnoreCase(ConfigLoader.getOrDefault("TEST_SCHEDULING", "history"));
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isEnabled()) return methods;
+
+        Map<ITestNGMethod, Long> estimates = estimateMethods(methods);
+        if (estimates.isEmpty()) {
+            System.out.println("[SCHEDULER] Belum ada history durasi, urutan deklarasi dipertahankan.");
+            return methods;
+        }
+
+        // Total estimasi per class, class dengan total terbesar dijadwalkan lebih dulu
+        Map<Class<?>, Long> classTotals = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            classTotals.merge(method.getRealClass(), estimates.getOrDefault(method, 0L), Long::sum);
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // List.sort stabil: test dengan estimasi sama tetap mengikuti urutan deklarasi
+        ordered.sort(Comparator
+                .comparing((IMethodInstance m) -> classTotals.get(m.getMethod().getRealClass()), Comparator.reverseOrder())
+                .thenComparing(m -> estimates.getOrDefault(m.getMethod(), 0L), Comparator.reverseOrder()));
+
+        printPlan(ordered, estimates, classTotals);
+        return ordered;
+    }
+
+    /**
+     * Estimasi durasi setiap method. Mengembalikan map kosong jika tidak ada satu pun history.
+     */
+    private static Map<ITestNGMethod, Long> estimateMethods(List<IMethodInstance> methods) {
+        Map<ITestNGMethod, Long> known = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            Long duration = TestDurationHistory.methodDuration(instance.getMethod());
+            if (duration != null) known.put(instance.getMethod(), duration);
+        }
+        if (known.isEmpty()) return known;
+
+        Long suiteMedian = TestDurationHistory.median(new ArrayList<>(known.values()));
+        Map<ITestNGMethod, Long> estimates = new HashMap<>(known);
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (estimates.containsKey(method)) continue;
+
+            List<Long> sameClass = new ArrayList<>();
+            for (Map.Entry<ITestNGMethod, Long> entry : known.entrySet()) {
+                if (entry.getKey().getRealClass() == method.getRealClass()) sameClass.add(entry.getValue());
+            }
+            Long classMedian = TestDurationHistory.median(sameClass);
+            estimates.put(method, classMedian != null ? classMedian : suiteMedian);
+        }
+        return estimates;
+    }
+
+    private static void printPlan(List<IMethodInstance> ordered, Map<ITestNGMethod, Long> estimates,
+            Map<Class<?>, Long> classTotals) {
+        StringBuilder plan = new StringBuilder("[SCHEDULER] Urutan longest-first:");
+        Class<?> current = null;
+        for (IMethodInstance instance : ordered) {
+            ITestNGMethod method = instance.getMethod();
+            if (method.getRealClass() != current) {
+                current = method.getRealClass();
+                plan.append("\n  ").append(current.getSimpleName())
+                        .append(" ~").append(seconds(classTotals.get(current))).append(':');
+            }
+            plan.append(' ').append(method.getMethodName())
+                    .append(" ~").append(seconds(estimates.getOrDefault(method, 0L)));
+        }
+        System.out.println(plan);
+    }
+
+    private static String seconds(long millis) {
+        return String.format("%.1fs", millis / 1000.0);
+    }
+
+    /**
+     * Mengurutkan baris data provider dari yang terlama. Berpengaruh ketika baris dijalankan paralel.
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+            ITestNGMethod method, ITestContext context) {
+        if (!isEnabled()) return original;
+
+        List<Object[]> rows = new ArrayList<>();
+        original.forEachRemaining(rows::add);
+
+        Long average = TestDurationHistory.averageRowDuration(method);
+        if (average == null) return rows.iterator();
+
+        Map<Object[], Long> estimates = new HashMap<>();
+        for (Object[] row : rows) {
+            Long duration = TestDurationHistory.rowDuration(method, row);
+            estimates.put(row, duration != null ? duration : average);
+        }
+        rows.sort(Comparator.comparing(estimates::get, Comparator.reverseOrder()));
+        return rows.iterator();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        TestDurationHistory.record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        TestDurationHistory.record(result);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        TestDurationHistory.save();
+    }
+}
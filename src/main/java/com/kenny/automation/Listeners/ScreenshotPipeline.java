@@ -0,0 +1,146 @@
+package com.kenny.automation.Listeners;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.kenny.automation.Helper.ConfigLoader;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+/**
+ * ScreenshotPipeline memproses screenshot di background: dedup screenshot yang identik, simpan lewat
+ * {@link ScreenshotStore}, dan attach ke Extent serta Allure.
+ * <p>
+ * Thread test hanya mengambil byte PNG dari browser lalu langsung kembali. Pekerjaan dijalankan
+ * oleh {@code SCREENSHOT_WORKERS} thread (default 2); screenshot dari test yang sama selalu diproses
+ * berurutan (dirantai per test), sementara test yang berbeda bisa diproses bersamaan.
+ * {@link #drain()} dipanggil oleh {@link TestListeners} sebelum hasil test difinalisasi sehingga
+ * semua attachment sudah tercatat sebelum Allure menulis hasil test. Jika drain timeout, screenshot
+ * yang belum mulai diproses dibatalkan, dan {@link ExtentNode} menunda publish test sampai tugas
+ * yang sedang berjalan selesai (lihat {@link #pending(ExtentTest)}).
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ScreenshotPipeline {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = ConfigLoader.getInt("SCREENSHOT_DRAIN_TIMEOUT_SECONDS", 30);
+
+    private static final ExecutorService WORKERS;
+
+    static {
+        int workers = Math.max(1, ConfigLoader.getInt("SCREENSHOT_WORKERS", 2));
+        AtomicInteger counter = new AtomicInteger();
+        WORKERS = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "screenshot-worker-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Antrian screenshot milik test yang sedang berjalan di thread ini. */
+    private static final ThreadLocal<TestAttachments> CURRENT = ThreadLocal.withInitial(TestAttachments::new);
+
+    /** Rantai screenshot yang masih berjalan setelah drain timeout, per test Extent. */
+    private static final Map<ExtentTest, CompletableFuture<Void>> UNFINISHED = new ConcurrentHashMap<>();
+
+    /**
+     * State per test. Hanya diakses oleh tugas yang dirantai berurutan, sehingga tidak perlu lock.
+     */
+    private static class TestAttachments {
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        /** Di-set oleh drain yang timeout; tugas yang belum mulai tidak lagi menyentuh report. */
+        private volatile boolean cancelled;
+        private String lastHash;
+        private byte[] lastPng;
+    }
+
+    /**
+     * Menyerahkan screenshot ke background. Kembali segera tanpa menunggu penyimpanan/attach.
+     *
+     * @param node  node Extent tujuan
+     * @param title judul screenshot
+     * @param png   byte gambar dari browser; array yang sama dipakai untuk semua sink (file Extent,
+     *              attachment Allure) tanpa disalin atau di-encode base64
+     */
+    public static void submit(ExtentTest node, String title, byte[] png) {
+        if (png == null || png.length == 0) return;
+
+        // Konteks Allure hanya tersedia di thread test
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> testCase = lifecycle.getCurrentTestCase();
+
+        TestAttachments attachments = CURRENT.get();
+        attachments.tail = attachments.tail
+                .thenRunAsync(() -> attach(attachments, node, title, png, lifecycle, testCase), WORKERS)
+                .exceptionally(e -> {
+                    node.warning("Gagal attach screenshot: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    private static void attach(TestAttachments attachments, ExtentTest node, String title, byte[] png,
+            AllureLifecycle lifecycle, Optional<String> testCase) {
+        if (attachments.cancelled) return;
+
+        // Screenshot yang dipakai ulang (halaman tidak berubah) dikirim dengan array yang sama
+        String hash = png == attachments.lastPng ? attachments.lastHash : ScreenshotStore.sha256(png);
+        if (hash.equals(attachments.lastHash)) {
+            node.info("Screenshot '" + title + "' identik dengan sebelumnya, tidak dilampirkan ulang");
+            return;
+        }
+        attachments.lastHash = hash;
+        attachments.lastPng = png;
+
+        ScreenshotStore.addToExtent(node, png, hash, title);
+        ScreenshotStore.addToAllure(lifecycle, testCase, png, hash, title);
+    }
+
+    /**
+     * Menunggu semua screenshot milik test di thread ini selesai diproses, lalu mereset state
+     * untuk test berikutnya. Jika timeout, screenshot yang belum diproses dibatalkan dan tugas yang
+     * sedang berjalan dicatat di {@link #pending(ExtentTest)}. Aman dipanggil berkali-kali.
+     */
+    public static void drain() {
+        TestAttachments attachments = CURRENT.get();
+        CURRENT.remove();
+        try {
+            attachments.tail.get(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            attachments.cancelled = true;
+            ExtentTest test = ExtentNode.getTest();
+            if (test != null) {
+                UNFINISHED.put(test, attachments.tail);
+                attachments.tail.whenComplete((result, error) -> UNFINISHED.remove(test, attachments.tail));
+            }
+            System.err.println("[SCREENSHOT] Timeout menunggu screenshot diproses setelah " + DRAIN_TIMEOUT_SECONDS
+                    + " detik, sisa screenshot dibatalkan");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("[SCREENSHOT] Gagal memproses screenshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Future yang selesai ketika tugas screenshot milik test tersebut (yang masih berjalan setelah
+     * drain timeout) sudah selesai.
+     *
+     * @param test test Extent (parent) pemilik screenshot
+     * @return future tugas yang tersisa, atau future yang sudah selesai jika tidak ada
+     */
+    public static CompletableFuture<Void> pending(ExtentTest test) {
+        CompletableFuture<Void> unfinished = test == null ? null : UNFINISHED.get(test);
+        return unfinished != null ? unfinished : CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kenny.automation.Listeners;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Menentukan kapan screenshot diambil untuk test class atau test method tertentu.
+ * Annotation di method mengalahkan annotation di class; keduanya bisa dikalahkan dari command
+ * line dengan <code>-DSCREENSHOT_POLICY=...</code>. Lihat {@link ScreenshotPolicyEngine}.
+ *
+ * <pre>
+ * &#64;ScreenshotPolicy(ScreenshotPolicy.Mode.FAILURE)
+ * public class LoginTest extends BaseTest { ... }
+ *
+ * &#64;ScreenshotPolicy(value = ScreenshotPolicy.Mode.EVERY_N, every = 3)
+ * &#64;Test
+ * public void testCheckout() { ... }
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface ScreenshotPolicy {
+
+    Mode value();
+
+    /** Untuk {@link Mode#EVERY_N}: ambil screenshot setiap N detail. 0 = pakai {@code SCREENSHOT_EVERY_N}. */
+    int every() default 0;
+
+    enum Mode {
+        /** Tidak pernah mengambil screenshot. */
+        NEVER,
+        /** Hanya saat test gagal. */
+        FAILURE,
+        /** Detail ke-1, ke-(N+1), dst., key step, dan saat gagal. */
+        EVERY_N,
+        /** Hanya key step ({@link LogHelper#keyDetail(String)}) dan saat gagal. */
+        KEY,
+        /** Setiap detail, saat test sukses dan saat gagal (perilaku lama). */
+        ALWAYS;
+
+        /**
+         * Parsing nama mode dari setting, contoh <code>failure-only</code>, <code>every-n</code>, <code>key</code>.
+         *
+         * @return mode, atau null jika tidak dikenali
+         */
+        public static Mode parse(String value) {
+            if (value == null || value.trim().isEmpty()) return null;
+            String normalized = value.trim().toUpperCase().replace('-', '_');
+            if (normalized.equals("FAILURE_ONLY")) return FAILURE;
+            if (normalized.equals("KEY_STEPS")) return KEY;
+            try {
+                return valueOf(normalized);
+            } catch (IllegalArgumentException e) {
+                System.err.println("SCREENSHOT_POLICY '" + value + "' tidak dikenali, diabaikan.");
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.kenny.automation.Listeners;
+
+import java.lang.reflect.Method;
+
+import org.testng.ITestResult;
+
+import com.kenny.automation.Helper.ConfigLoader;
+import com.kenny.automation.Listeners.ScreenshotPolicy.Mode;
+
+/**
+ * ScreenshotPolicyEngine menentukan apakah screenshot diambil untuk setiap detail, saat test
+ * sukses dan saat test gagal, berdasarkan {@link ScreenshotPolicy.Mode}.
+ * <p>
+ * Urutan prioritas policy untuk satu test:
+ * <ol>
+ *   <li>command line: <code>-DSCREENSHOT_POLICY=failure-only</code></li>
+ *   <li>{@link ScreenshotPolicy} di test method</li>
+ *   <li>{@link ScreenshotPolicy} di test class</li>
+ *   <li>parameter suite/test XML: <code>&lt;parameter name="SCREENSHOT_POLICY" value="key"/&gt;</code></li>
+ *   <li>{@code SCREENSHOT_POLICY} di environment variable atau config.properties</li>
+ *   <li>default {@code always}</li>
+ * </ol>
+ * Nilai N untuk {@code every-n} diambil dengan urutan yang sama dari {@code SCREENSHOT_EVERY_N}
+ * (atau {@link ScreenshotPolicy#every()}), default 5. Policy di-resolve sekali di
+ * {@link TestListeners#onTestStart} dan disimpan per thread.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ScreenshotPolicyEngine {
+
+    private static final String POLICY_KEY = "SCREENSHOT_POLICY";
+    private static final String EVERY_N_KEY = "SCREENSHOT_EVERY_N";
+
+    private static final ThreadLocal<Policy> CURRENT = ThreadLocal.withInitial(ScreenshotPolicyEngine::fromConfig);
+
+    private static class Policy {
+        private final Mode mode;
+        private final int every;
+        private int details;
+
+        Policy(Mode mode, int every) {
+            this.mode = mode;
+            this.every = Math.max(1, every);
+        }
+    }
+
+    /**
+     * Resolve policy untuk test yang akan dijalankan di thread ini.
+     */
+    public static void begin(ITestResult result) {
+        CURRENT.set(resolve(result));
+    }
+
+    private static Policy resolve(ITestResult result) {
+        Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        ScreenshotPolicy annotation = method == null ? null : method.getAnnotation(ScreenshotPolicy.class);
+        Class<?> testClass = result.getMethod().getRealClass();
+        if (annotation == null) annotation = testClass.getAnnotation(ScreenshotPolicy.class);
+        String xmlPolicy = result.getTestContext().getCurrentXmlTest().getParameter(POLICY_KEY);
+        String xmlEvery = result.getTestContext().getCurrentXmlTest().getParameter(EVERY_N_KEY);
+
+        Mode mode = Mode.parse(System.getProperty(POLICY_KEY));
+        if (mode == null && annotation != null) mode = annotation.value();
+        if (mode == null) mode = Mode.parse(xmlPolicy);
+        if (mode == null) mode = Mode.parse(ConfigLoader.getOrDefault(POLICY_KEY, null));
+        if (mode == null) mode = Mode.ALWAYS;
+
+        int every;
+        if (System.getProperty(EVERY_N_KEY) != null) {
+            every = ConfigLoader.getInt(EVERY_N_KEY, 5);
+        } else if (annotation != null && annotation.every() > 0) {
+            every = annotation.every();
+        } else if (xmlEvery != null) {
+            every = parseEvery(xmlEvery);
+        } else {
+            every = ConfigLoader.getInt(EVERY_N_KEY, 5);
+        }
+        return new Policy(mode, every);
+    }
+
+    /**
+     * Parse nilai every-n dari parameter XML seperti {@link ConfigLoader#getInt(String, int)}:
+     * nilai yang bukan angka diabaikan dengan peringatan dan jatuh ke setting/default.
+     */
+    private static int parseEvery(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            int fallback = ConfigLoader.getInt(EVERY_N_KEY, 5);
+            System.err.println("Nilai '" + value + "' untuk parameter " + EVERY_N_KEY + " bukan angka. Default ke " + fallback + ".");
+            return fallback;
+        }
+    }
+
+    private static Policy fromConfig() {
+        Mode mode = Mode.parse(ConfigLoader.getOrDefault(POLICY_KEY, null));
+        return new Policy(mode == null ? Mode.ALWAYS : mode, ConfigLoader.getInt(EVERY_N_KEY, 5));
+    }
+
+    public static Mode currentMode() {
+        return CURRENT.get().mode;
+    }
+
+    /**
+     * Apakah {@link LogHelper#detail(String)} perlu mengambil screenshot.
+     *
+     * @param keyStep true untuk detail yang ditandai sebagai key step
+     */
+    public static boolean captureDetail(boolean keyStep) {
+        Policy policy = CURRENT.get();
+        switch (policy.mode) {
+            case ALWAYS:
+                return true;
+            case EVERY_N:
+                boolean nth = policy.details++ % policy.every == 0;
+                return keyStep || nth;
+            case KEY:
+                return keyStep;
+            default:
+                return false;
+        }
+    }
+
+    /** Screenshot penutup saat test sukses hanya untuk mode {@code always}. */
+    public static boolean captureOnSuccess() {
+        return CURRENT.get().mode == Mode.ALWAYS;
+    }
+
+    /** Screenshot saat test gagal untuk semua mode kecuali {@code never}. */
+    public static boolean captureOnFailure() {
+        return CURRENT.get().mode != Mode.NEVER;
+    }
+}
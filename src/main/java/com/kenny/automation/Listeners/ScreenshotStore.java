@@ -0,0 +1,153 @@
+package com.kenny.automation.Listeners;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.kenny.automation.Helper.ConfigLoader;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+
+/**
+ * ScreenshotStore menyimpan screenshot sebagai file di folder content-addressed (nama file = SHA-256
+ * isi screenshot) di samping report Extent, sehingga HTML report hanya berisi referensi file.
+ * <p>
+ * Ekstensi file mengikuti format gambar (png/jpg/webp, lihat {@code SCREENSHOT_FORMAT}).
+ * Screenshot yang sama (contoh: halaman login di ratusan baris data-driven) hanya ditulis sekali,
+ * baik di folder report Extent ({@code reports/summary-report/screenshots/}) maupun di folder hasil
+ * Allure (source <code>&lt;hash&gt;-attachment.png</code>). Dengan {@code SCREENSHOT_STORE=embedded}
+ * screenshot di-embed sebagai base64 seperti sebelumnya.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ScreenshotStore {
+
+    private static final String FOLDER = "screenshots";
+    private static final boolean EXTERNAL =
+            !"embedded".equalsIgnoreCase(ConfigLoader.getOrDefault("SCREENSHOT_STORE", "external"));
+
+    /** Hash yang sudah ditulis ke folder Extent dan Allure pada JVM ini. */
+    private static final Set<String> EXTENT_FILES = ConcurrentHashMap.newKeySet();
+    private static final Set<String> ALLURE_FILES = ConcurrentHashMap.newKeySet();
+
+    public static boolean isExternal() {
+        return EXTERNAL;
+    }
+
+    /**
+     * Menambahkan screenshot ke node Extent: sebagai referensi file (external) atau base64 (embedded).
+     *
+     * @param node  node Extent tujuan
+     * @param png   byte gambar (PNG/JPEG/WebP)
+     * @param hash  SHA-256 dari png (lihat {@link #sha256(byte[])}), atau null agar dihitung di sini
+     * @param title judul screenshot, boleh null
+     */
+    public static void addToExtent(ExtentTest node, byte[] png, String hash, String title) {
+        if (!EXTERNAL) {
+            // Spark merender base64 sebagai data:image/png; browser tetap mendeteksi JPEG/WebP dari isinya
+            node.addScreenCaptureFromBase64String(Base64.getEncoder().encodeToString(png), title);
+            return;
+        }
+        String relativePath = writeExtentFile(png, hash != null ? hash : sha256(png));
+        node.addScreenCaptureFromPath(relativePath, title);
+    }
+
+    /**
+     * Menambahkan screenshot sebagai attachment test case Allure. File attachment ditulis sekali per
+     * hash; test berikutnya dengan screenshot yang sama hanya menambahkan referensi.
+     *
+     * @param lifecycle lifecycle Allure
+     * @param testCase  uuid test case tujuan
+     * @param png       byte gambar (PNG/JPEG/WebP)
+     * @param hash      SHA-256 dari png
+     * @param title     nama attachment
+     */
+    public static void addToAllure(AllureLifecycle lifecycle, Optional<String> testCase, byte[] png, String hash,
+            String title) {
+        testCase.ifPresent(uuid -> {
+            String extension = extensionOf(png);
+            String source = hash + "-attachment." + extension;
+            if (ALLURE_FILES.add(hash)) {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(png));
+            }
+            lifecycle.updateTestCase(uuid, result -> result.getAttachments().add(
+                    new Attachment().setName(title).setSource(source).setType(mimeTypeOf(extension))));
+        });
+    }
+
+    /**
+     * Menulis file (jika belum ada) dan mengembalikan path relatif terhadap file HTML report.
+     */
+    private static String writeExtentFile(byte[] png, String hash) {
+        String fileName = hash + "." + extensionOf(png);
+        String relativePath = FOLDER + "/" + fileName;
+        if (EXTENT_FILES.contains(hash)) return relativePath;
+
+        try {
+            Path dir = Paths.get(ExtentReportsManager.getReportDirectory(), FOLDER);
+            Path file = dir.resolve(fileName);
+            if (!Files.exists(file)) {
+                Files.createDirectories(dir);
+                // Tulis ke file sementara lalu rename, agar file tidak pernah terbaca setengah jadi
+                Path temp = Files.createTempFile(dir, hash, ".tmp");
+                Files.write(temp, png);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            EXTENT_FILES.add(hash);
+            return relativePath;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menyimpan screenshot " + hash, e);
+        }
+    }
+
+    /**
+     * Menentukan ekstensi dari magic bytes, karena capture DevTools bisa menghasilkan JPEG/WebP.
+     */
+    private static String extensionOf(byte[] image) {
+        if (image.length > 2 && (image[0] & 0xFF) == 0xFF && (image[1] & 0xFF) == 0xD8) return "jpg";
+        if (image.length > 11 && image[0] == 'R' && image[1] == 'I' && image[2] == 'F' && image[3] == 'F'
+                && image[8] == 'W' && image[9] == 'E' && image[10] == 'B' && image[11] == 'P') return "webp";
+        return "png";
+    }
+
+    private static String mimeTypeOf(String extension) {
+        switch (extension) {
+            case "jpg":
+                return "image/jpeg";
+            case "webp":
+                return "image/webp";
+            default:
+                return "image/png";
+        }
+    }
+
+    /**
+     * SHA-256 dalam format hex, dipakai sebagai nama file.
+     */
+    public static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
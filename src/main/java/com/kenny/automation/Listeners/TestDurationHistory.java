@@ -0,0 +1,170 @@
+package com.kenny.automation.Listeners;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kenny.automation.Helper.ConfigLoader;
+
+/**
+ * TestDurationHistory menyimpan durasi eksekusi test dari run sebelumnya, per method dan per
+ * baris data provider, untuk dipakai oleh {@link LongestFirstScheduler}.
+ * <p>
+ * Data disimpan sebagai JSON di {@code TEST_HISTORY_FILE} (default
+ * <code>test-history/durations.json</code>) dengan key:
+ * <ul>
+ *   <li><code>package.Class#method</code> untuk method tanpa parameter</li>
+ *   <li><code>package.Class#method[hash]</code> untuk satu baris data provider, dengan hash
+ *       dihitung dari isi parameter sehingga tetap stabil walaupun urutan baris berubah</li>
+ * </ul>
+ * Durasi baru digabung dengan durasi lama menggunakan rata-rata bergerak (bobot 50%)
+ * agar satu run yang lambat tidak langsung mengubah urutan eksekusi.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class TestDurationHistory {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final Map<String, Long> DURATIONS = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    private static File historyFile() {
+        return new File(ConfigLoader.getOrDefault("TEST_HISTORY_FILE", "test-history/durations.json"));
+    }
+
+    private static synchronized void load() {
+        if (loaded) return;
+        File file = historyFile();
+        if (file.exists()) {
+            try {
+                DURATIONS.putAll(MAPPER.readValue(file, new TypeReference<Map<String, Long>>() { }));
+                System.out.println("[SCHEDULER] " + DURATIONS.size() + " durasi test dibaca dari " + file);
+            } catch (IOException e) {
+                System.err.println("Gagal membaca history durasi test: " + e.getMessage());
+            }
+        }
+        loaded = true;
+    }
+
+    /**
+     * Key untuk method (tanpa parameter).
+     */
+    public static String methodKey(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    /**
+     * Key untuk satu baris data provider, berdasarkan isi parameter.
+     */
+    public static String rowKey(ITestNGMethod method, Object[] parameters) {
+        if (parameters == null || parameters.length == 0) return methodKey(method);
+
+        StringBuilder content = new StringBuilder();
+        for (Object parameter : parameters) {
+            // Map diurutkan agar hash tidak bergantung urutan iterasi HashMap
+            content.append(parameter instanceof Map ? new TreeMap<>((Map<?, ?>) parameter) : parameter).append('|');
+        }
+        return methodKey(method) + "[" + Integer.toHexString(content.toString().hashCode()) + "]";
+    }
+
+    /**
+     * Mencatat durasi satu hasil test (sukses maupun gagal).
+     */
+    public static void record(ITestResult result) {
+        load();
+        long elapsed = result.getEndMillis() - result.getStartMillis();
+        if (elapsed < 0) return;
+        String key = rowKey(result.getMethod(), result.getParameters());
+        DURATIONS.merge(key, elapsed, (old, observed) -> (old + observed) / 2);
+    }
+
+    /**
+     * Durasi baris data provider dari history.
+     *
+     * @return durasi dalam milidetik, atau null jika belum pernah tercatat
+     */
+    public static Long rowDuration(ITestNGMethod method, Object[] parameters) {
+        load();
+        return DURATIONS.get(rowKey(method, parameters));
+    }
+
+    /**
+     * Total durasi sebuah method dari history: jumlah semua baris data provider-nya,
+     * atau durasi method itu sendiri jika tanpa parameter.
+     *
+     * @return durasi dalam milidetik, atau null jika belum pernah tercatat
+     */
+    public static Long methodDuration(ITestNGMethod method) {
+        load();
+        String key = methodKey(method);
+        long total = 0;
+        boolean found = false;
+        for (Map.Entry<String, Long> entry : DURATIONS.entrySet()) {
+            if (entry.getKey().equals(key) || entry.getKey().startsWith(key + "[")) {
+                total += entry.getValue();
+                found = true;
+            }
+        }
+        return found ? total : null;
+    }
+
+    /**
+     * Rata-rata durasi baris yang tercatat untuk sebuah method.
+     *
+     * @return durasi dalam milidetik, atau null jika belum pernah tercatat
+     */
+    public static Long averageRowDuration(ITestNGMethod method) {
+        load();
+        String prefix = methodKey(method) + "[";
+        long total = 0;
+        int count = 0;
+        for (Map.Entry<String, Long> entry : DURATIONS.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                total += entry.getValue();
+                count++;
+            }
+        }
+        return count == 0 ? null : total / count;
+    }
+
+    /**
+     * Median dari sekumpulan durasi, dipakai sebagai estimasi untuk test tanpa history.
+     *
+     * @return median, atau null jika list kosong
+     */
+    public static Long median(List<Long> durations) {
+        if (durations.isEmpty()) return null;
+        List<Long> sorted = new ArrayList<>(durations);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Menulis history ke file. Dipanggil di akhir setiap &lt;test&gt;.
+     */
+    public static synchronized void save() {
+        if (DURATIONS.isEmpty()) return;
+        File file = historyFile();
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (!parent.exists()) parent.mkdirs();
+            MAPPER.writeValue(file, new TreeMap<>(DURATIONS));
+        } catch (IOException e) {
+            System.err.println("Gagal menulis history durasi test: " + e.getMessage());
+        }
+    }
+}
@@ -3,14 +3,19 @@ package com.kenny.automation.Listeners;
 import java.io.File;
 
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.kenny.automation.Config.ApiConnectionStats;
+import com.kenny.automation.Config.JsonPlaceholderStub;
 import com.kenny.automation.Config.WebDriverManager;
-import com.kenny.automation.Helper.CustomCommand;
+import com.kenny.automation.Helper.ScreenshotCapture;
 
 
 
@@ -44,10 +49,8 @@ import com.kenny.automation.Helper.CustomCommand;
  * @version 1.0
  */
 
-public class TestListeners implements ITestListener{
+public class TestListeners implements ITestListener, ISuiteListener, IInvokedMethodListener {
 	
-	 ExtentReports extent = ExtentReportsManager.getExtentReports();
-	 ExtentTest test;
 	 
 	 	/**
 	     * Dipanggil sekali sebelum suite dimulai.
@@ -55,11 +58,11 @@ public class TestListeners implements ITestListener{
 	     */
 	    @Override
 	    public void onStart(ITestContext context) {
-	        // Ambil instance dari ExtentReportsManager (sudah otomatis bikin folder & file)
-	        extent = ExtentReportsManager.getExtentReports();
+	        // Inisialisasi sekali (thread-safe) di ExtentReportsManager, termasuk folder & nama file
+	        ExtentReportsManager.getExtentReports();
 
 	        // Kalau perlu, update system info tambahan
-	        extent.setSystemInfo("Test Suite", context.getSuite().getName());
+	        ExtentReportsManager.setSystemInfo("Test Suite", context.getSuite().getName());
 	        
 	     // --- Allure folder setup ---
 	        String suiteName = context.getSuite().getName().toLowerCase();
@@ -92,6 +95,7 @@ public class TestListeners implements ITestListener{
 	    	ExtentNode.createTest(testName);
 	    	LogHelper.resetCounter();
 	    	LogHelper.setCurrentTestName(testName);
+	    	ScreenshotPolicyEngine.begin(result);
 	    	
 	    	// Ambil ExtentTest aktif untuk API logger
 	        ExtentTest node = ExtentNode.getNode();
@@ -100,21 +104,38 @@ public class TestListeners implements ITestListener{
 	    }
 	    
 	    
+	    /**
+	     * Dipanggil setelah test method selesai, sebelum listener lain (termasuk Allure)
+	     * memfinalisasi hasil test. Menunggu screenshot background milik test ini selesai di-attach.
+	     */
+	    @Override
+	    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+	    	if (method.isTestMethod()) {
+	    		ScreenshotPipeline.drain();
+	    	}
+	    }
+
+
 	    /**
 	     * Dipanggil jika test berhasil.
 	     * Menyimpan screenshot ke folder reports/pass dan melog status PASS.
 	     */
 	    @Override
 	    public void onTestSuccess(ITestResult result) {
+	    	 ApiLogWriter.flush(ExtentNode.getTest());
+	    	 ScreenshotPipeline.drain();
 	    	
 	    	 WebDriver webDriver = WebDriverManager.getDriver();
 	        try {
 
 	            if ( webDriver != null) {
-	             	String screenshotBase64 = CustomCommand.captureScreenshotBase64(result.getMethod().getMethodName());
-	             	
-	                ExtentNode.getNode().addScreenCaptureFromBase64String(screenshotBase64,result.getMethod().getMethodName());
-	               
+	            	if (ScreenshotPolicyEngine.captureOnSuccess()) {
+	            		byte[] screenshot = LogHelper.captureForResult(result.getMethod().getMethodName());
+	            		if (screenshot != null) {
+	            			ScreenshotStore.addToExtent(ExtentNode.getNode(), screenshot, null, result.getMethod().getMethodName());
+	            		}
+	            	}
+
 	                LogHelper.pass("Test Success");
 	            } else {
 	                System.out.println("Driver is null, skipping screenshot for test: " + result.getMethod().getMethodName());
@@ -124,7 +145,7 @@ public class TestListeners implements ITestListener{
 	        
 	        }
 	        
-			
+	        ExtentNode.finishTest();
 	    }
 	    
 	    
@@ -134,15 +155,20 @@ public class TestListeners implements ITestListener{
 	     */
 	    @Override
 	    public void onTestFailure(ITestResult result) {    
+	    	 ApiLogWriter.flush(ExtentNode.getTest());
+	    	 ScreenshotPipeline.drain();
 	    	
 	    	 WebDriver webDriver = WebDriverManager.getDriver();
 	    	try {
 	    		
 	            if (webDriver != null) {
-	            	String screenshotBase64 = CustomCommand.captureScreenshotBase64(result.getMethod().getMethodName());
-	            	
-	                ExtentNode.getNode().addScreenCaptureFromBase64String(screenshotBase64);
-	              
+	            	if (ScreenshotPolicyEngine.captureOnFailure()) {
+	            		byte[] screenshot = LogHelper.captureForResult(result.getMethod().getMethodName());
+	            		if (screenshot != null) {
+	            			ScreenshotStore.addToExtent(ExtentNode.getNode(), screenshot, null, null);
+	            		}
+	            	}
+
 	                LogHelper.fail("Test Failed");
 	            } else {
 	                System.out.println("Driver is null, skipping screenshot for test: " + result.getMethod().getMethodName());
@@ -160,7 +186,8 @@ public class TestListeners implements ITestListener{
 	    	        System.out.println("[WARNING] ExtentNode.getNode() null. Logging to console instead.");
 	    	        result.getThrowable().printStackTrace();
 	    	    }
-			
+	    	    
+	    	 ExtentNode.finishTest();
 	    }
 	    
 	    
@@ -170,30 +197,43 @@ public class TestListeners implements ITestListener{
 	     */
 	    @Override
 	    public void onTestSkipped(ITestResult result) {
+	    	 ApiLogWriter.flush(ExtentNode.getTest());
+	    	 ScreenshotPipeline.drain();
+	    	 ExtentNode.finishTest();
 	    }
 	    
 	    
 
 	    /**
-	     * Dipanggil sekali setelah suite selesai dijalankan.
-	     * Melakukan flush ExtentReports agar file report final dibuat.
+	     * Dipanggil setelah setiap &lt;test&gt; di suite selesai dijalankan.
+	     * Melakukan flush ExtentReports agar test yang sudah selesai tertulis ke file report.
+	     * Resource yang dipakai bersama seluruh suite (driver pool, server lokal) tetap hidup
+	     * untuk &lt;test&gt; berikutnya dan baru ditutup di {@link #onFinish(ISuite)}.
 	     */
 	    @Override
 	    public void onFinish(ITestContext context) {
+	    	 ApiLogWriter.flush();
 	    	 System.out.println("Flushing Extent Report...");
-	        extent.flush(); // Flush sekali di akhir suite
 	        ExtentNode.remove();
+	        ExtentReportsManager.flush(); // Flush akhir; test sebelumnya sudah di-flush bertahap
 	        System.out.println("Extent Report generated at: " +
 	                System.getProperty("user.dir") + "/reports/");
 	    }
-	    
-	    
-	    
-	    
-	    
-	    
-	    
-	    
-	    
-	    
+
+
+	    /**
+	     * Dipanggil sekali setelah seluruh suite selesai dijalankan.
+	     * Menutup semua driver yang masih tersimpan di pool, server lokal dan stub, lalu
+	     * mencetak ringkasan statistik.
+	     */
+	    @Override
+	    public void onFinish(ISuite suite) {
+	    	 WebDriverManager.shutdown();
+	    	 ApiConnectionStats.printSummary();
+	    	 ApiLogWriter.flush();
+	    	 ApiLogWriter.printSummary();
+	    	 ScreenshotCapture.printSummary();
+	    	 JsonPlaceholderStub.stop();
+	    	 ExtentReportsManager.flush();
+	    }
 }
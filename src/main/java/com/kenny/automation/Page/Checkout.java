@@ -81,6 +81,9 @@ public class Checkout {
     @FindBy(xpath = "//div[@class='summary_total_label']")
     private WebElement grandTotal;
 
+    @FindBy(className = "summary_info")
+    private WebElement summaryPanel;
+
     // ============================== ACTION METHODS ==============================
 
     /**
@@ -111,7 +114,7 @@ public class Checkout {
         LogHelper.step("Menavigasi ke halaman Checkout");
         utils.scrollIntoText("Checkout");
         utils.clickWhenReady(checkoutBtn);
-        LogHelper.detail("Berhasil menampilkan halaman Checkout");
+        LogHelper.keyDetail("Berhasil menampilkan halaman Checkout");
     }
 
     /**
@@ -182,7 +185,7 @@ public class Checkout {
     public void scrollToFinishOrder() {
         LogHelper.step("Scroll ke tombol Finish");
         utils.scrollIntoView(finishBtn);
-        LogHelper.detail("Berhasil Menampilkan Button Finish dan Detail Harga");
+        LogHelper.keyDetail("Berhasil Menampilkan Button Finish dan Detail Harga", summaryPanel);
     }
 
     /**
@@ -228,7 +231,7 @@ public class Checkout {
     public void finishOrder() {
         LogHelper.step("Klik tombol Finish untuk menyelesaikan order");
         utils.clickWhenReady(finishBtn);
-        LogHelper.detail("Checkout Sukses");
+        LogHelper.keyDetail("Checkout Sukses");
     }
 
     /**
@@ -98,7 +98,7 @@ public class Dashboard {
     public void logout() {
         LogHelper.step("Melakukan Log out User");
         utils.clickWhenReady(logoutBtn);
-        LogHelper.detail("Berhasil Log out dan menampilkan halaman Login");
+        LogHelper.keyDetail("Berhasil Log out dan menampilkan halaman Login");
     }
 
     /**
@@ -189,7 +189,7 @@ public class Dashboard {
         LogHelper.step("Membuka halaman Cart");
         try {
             utils.clickWhenReady(cartIcon);
-            LogHelper.detail("Berhasil membuka halaman Cart.");
+            LogHelper.keyDetail("Berhasil membuka halaman Cart.");
         } catch (Exception e) {
             LogHelper.detail("Gagal membuka halaman Cart: " + e.getMessage());
         }
@@ -0,0 +1,376 @@
+/*
+ * Stand-in lokal untuk https://www.saucedemo.com yang dilayani oleh LocalSiteServer.
+ * Hanya mencakup halaman, id, class dan teks yang dipakai oleh Page Object
+ * (Login, Dashboard, Checkout). State disimpan seperti aslinya: cookie
+ * "session-username" untuk login dan localStorage "cart-contents" untuk keranjang.
+ */
+(function () {
+  'use strict';
+
+  var PASSWORD = 'secret_sauce';
+  var USERS = ['standard_user', 'locked_out_user', 'problem_user',
+    'performance_glitch_user', 'error_user', 'visual_user'];
+
+  var PRODUCTS = [
+    { id: 4, name: 'Sauce Labs Backpack', price: 29.99, desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack.' },
+    { id: 0, name: 'Sauce Labs Bike Light', price: 9.99, desc: 'A red light isn\'t the desired state in testing but it sure helps when riding your bike at night.' },
+    { id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99, desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt.' },
+    { id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99, desc: 'It\'s not every day that you come across a midweight quarter-zip fleece jacket.' },
+    { id: 2, name: 'Sauce Labs Onesie', price: 7.99, desc: 'Rib snap infant onesie for the junior automation engineer in development.' },
+    { id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99, desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard.' }
+  ];
+
+  var root = document.getElementById('root');
+  var page = document.body.getAttribute('data-page');
+
+  // ============================== STATE ==============================
+
+  function getSession() {
+    var match = document.cookie.match(/(?:^|; )session-username=([^;]*)/);
+    return match ? decodeURIComponent(match[1]) : null;
+  }
+
+  function setSession(username) {
+    document.cookie = 'session-username=' + encodeURIComponent(username) + '; path=/';
+  }
+
+  function clearSession() {
+    document.cookie = 'session-username=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+  }
+
+  function getCart() {
+    try {
+      return JSON.parse(window.localStorage.getItem('cart-contents')) || [];
+    } catch (e) {
+      return [];
+    }
+  }
+
+  function setCart(ids) {
+    if (ids.length === 0) {
+      window.localStorage.removeItem('cart-contents');
+    } else {
+      window.localStorage.setItem('cart-contents', JSON.stringify(ids));
+    }
+  }
+
+  function findProduct(id) {
+    for (var i = 0; i < PRODUCTS.length; i++) {
+      if (PRODUCTS[i].id === id) return PRODUCTS[i];
+    }
+    return null;
+  }
+
+  function cartProducts() {
+    return getCart().map(findProduct).filter(function (p) { return p !== null; });
+  }
+
+  // ============================== HELPERS ==============================
+
+  function el(tag, attrs, children) {
+    var node = document.createElement(tag);
+    Object.keys(attrs || {}).forEach(function (key) {
+      if (key === 'text') {
+        node.textContent = attrs[key];
+      } else if (key.indexOf('on') === 0) {
+        node.addEventListener(key.substring(2), attrs[key]);
+      } else {
+        node.setAttribute(key, attrs[key]);
+      }
+    });
+    (children || []).forEach(function (child) {
+      node.appendChild(typeof child === 'string' ? document.createTextNode(child) : child);
+    });
+    return node;
+  }
+
+  function go(path) {
+    window.location.href = path;
+  }
+
+  function money(value) {
+    return '$' + value.toFixed(2);
+  }
+
+  function errorBox(message) {
+    return el('div', { 'class': 'error-message-container error' }, [
+      el('h3', { 'data-test': 'error' }, [
+        message,
+        el('button', { 'class': 'error-button', 'data-test': 'error-button', text: 'x',
+          onclick: function () { this.parentNode.parentNode.removeChild(this.parentNode); } })
+      ])
+    ]);
+  }
+
+  // ============================== HEADER ==============================
+
+  function renderCartBadge(link) {
+    var old = link.querySelector('.shopping_cart_badge');
+    if (old) link.removeChild(old);
+    var count = getCart().length;
+    if (count > 0) {
+      link.appendChild(el('span', { 'class': 'shopping_cart_badge', 'data-test': 'shopping-cart-badge', text: String(count) }));
+    }
+  }
+
+  function header(title) {
+    var menu = el('nav', { 'class': 'bm-menu-wrap', 'aria-hidden': 'true' }, [
+      el('a', { id: 'inventory_sidebar_link', 'class': 'bm-item menu-item', href: 'inventory.html', text: 'All Items' }),
+      el('a', { id: 'about_sidebar_link', 'class': 'bm-item menu-item', href: '#', text: 'About' }),
+      el('a', { id: 'logout_sidebar_link', 'class': 'bm-item menu-item', href: '#', text: 'Logout',
+        onclick: function (e) { e.preventDefault(); clearSession(); go('index.html'); } }),
+      el('a', { id: 'reset_sidebar_link', 'class': 'bm-item menu-item', href: '#', text: 'Reset App State',
+        onclick: function (e) { e.preventDefault(); setCart([]); refreshCart(); } })
+    ]);
+
+    var cartLink = el('a', { 'class': 'shopping_cart_link', 'data-test': 'shopping-cart-link', href: 'cart.html' });
+    renderCartBadge(cartLink);
+
+    var bar = el('div', { 'class': 'primary_header' }, [
+      el('button', { id: 'react-burger-menu-btn', type: 'button', text: 'Open Menu',
+        onclick: function () { menu.setAttribute('aria-hidden', 'false'); menu.className = 'bm-menu-wrap open'; } }),
+      el('div', { 'class': 'app_logo', text: 'Swag Labs' }),
+      el('div', { id: 'shopping_cart_container', 'class': 'shopping_cart_container' }, [cartLink])
+    ]);
+
+    var secondary = el('div', { 'class': 'header_secondary_container' }, [
+      el('span', { 'class': 'title', 'data-test': 'title', text: title })
+    ]);
+
+    return el('div', { id: 'header_container' }, [menu, bar, secondary]);
+  }
+
+  function refreshCart() {
+    var link = document.querySelector('.shopping_cart_link');
+    if (link) renderCartBadge(link);
+    document.querySelectorAll('[data-cart-button]').forEach(function (button) {
+      styleCartButton(button, Number(button.getAttribute('data-cart-button')));
+    });
+  }
+
+  // ============================== CART BUTTON ==============================
+
+  function styleCartButton(button, id) {
+    var inCart = getCart().indexOf(id) >= 0;
+    button.className = inCart ? 'btn btn_secondary btn_small btn_inventory ' : 'btn btn_primary btn_small btn_inventory ';
+    button.textContent = inCart ? 'Remove' : 'Add to cart';
+  }
+
+  function toggleCart(id) {
+    var ids = getCart();
+    var index = ids.indexOf(id);
+    if (index >= 0) {
+      ids.splice(index, 1);
+    } else {
+      ids.push(id);
+    }
+    setCart(ids);
+    refreshCart();
+  }
+
+  function cartButton(id, elementId) {
+    var button = el('button', { type: 'button', 'data-cart-button': String(id),
+      onclick: function () { toggleCart(id); } });
+    if (elementId) button.id = elementId;
+    styleCartButton(button, id);
+    return button;
+  }
+
+  // ============================== PAGES ==============================
+
+  function renderLogin() {
+    var username = el('input', { id: 'user-name', 'class': 'input_error form_input', placeholder: 'Username', type: 'text', 'data-test': 'username' });
+    var password = el('input', { id: 'password', 'class': 'input_error form_input', placeholder: 'Password', type: 'password', 'data-test': 'password' });
+    var errorSlot = el('div', { 'class': 'error-slot' });
+
+    var form = el('form', {
+      onsubmit: function (e) {
+        e.preventDefault();
+        errorSlot.innerHTML = '';
+        var user = username.value;
+        var message = null;
+        if (!user) {
+          message = 'Epic sadface: Username is required';
+        } else if (!password.value) {
+          message = 'Epic sadface: Password is required';
+        } else if (USERS.indexOf(user) < 0 || password.value !== PASSWORD) {
+          message = 'Epic sadface: Username and password do not match any user in this service';
+        } else if (user === 'locked_out_user') {
+          message = 'Epic sadface: Sorry, this user has been locked out.';
+        }
+
+        if (message) {
+          errorSlot.appendChild(errorBox(message));
+          return;
+        }
+        setSession(user);
+        go('inventory.html');
+      }
+    }, [
+      username,
+      password,
+      errorSlot,
+      el('input', { id: 'login-button', 'class': 'submit-button btn_action', type: 'submit', value: 'Login', 'data-test': 'login-button' })
+    ]);
+
+    root.appendChild(el('div', { 'class': 'login_container' }, [
+      el('div', { 'class': 'login_logo', text: 'Swag Labs' }),
+      el('div', { 'class': 'login_wrapper' }, [form])
+    ]));
+  }
+
+  function renderInventory() {
+    var list = el('div', { 'class': 'inventory_list' });
+    var sort = el('select', { 'class': 'product_sort_container', 'data-test': 'product-sort-container',
+      onchange: function () { renderItems(this.value); } }, [
+      el('option', { value: 'az', text: 'Name (A to Z)' }),
+      el('option', { value: 'za', text: 'Name (Z to A)' }),
+      el('option', { value: 'lohi', text: 'Price (low to high)' }),
+      el('option', { value: 'hilo', text: 'Price (high to low)' })
+    ]);
+
+    function renderItems(order) {
+      var items = PRODUCTS.slice().sort(function (a, b) {
+        if (order === 'za') return b.name.localeCompare(a.name);
+        if (order === 'lohi') return a.price - b.price;
+        if (order === 'hilo') return b.price - a.price;
+        return a.name.localeCompare(b.name);
+      });
+      list.innerHTML = '';
+      items.forEach(function (product) {
+        list.appendChild(el('div', { 'class': 'inventory_item', 'data-test': 'inventory-item' }, [
+          el('a', { href: 'inventory-item.html?id=' + product.id, id: 'item_' + product.id + '_title_link' }, [
+            el('div', { 'class': 'inventory_item_name', 'data-test': 'inventory-item-name', text: product.name })
+          ]),
+          el('div', { 'class': 'inventory_item_desc', 'data-test': 'inventory-item-desc', text: product.desc }),
+          el('div', { 'class': 'pricebar' }, [
+            el('div', { 'class': 'inventory_item_price', 'data-test': 'inventory-item-price', text: money(product.price) }),
+            cartButton(product.id)
+          ])
+        ]));
+      });
+    }
+
+    root.appendChild(header('Products'));
+    root.appendChild(el('div', { 'class': 'sort_row' }, [sort]));
+    root.appendChild(list);
+    renderItems('az');
+  }
+
+  function renderItem() {
+    var id = Number(new URLSearchParams(window.location.search).get('id'));
+    var product = findProduct(id);
+    root.appendChild(header(''));
+    root.appendChild(el('button', { id: 'back-to-products', type: 'button', text: 'Back to products',
+      onclick: function () { go('inventory.html'); } }));
+
+    if (!product) {
+      root.appendChild(el('div', { 'class': 'inventory_details_name large_size', text: 'ITEM NOT FOUND' }));
+      return;
+    }
+    root.appendChild(el('div', { 'class': 'inventory_details' }, [
+      el('div', { 'class': 'inventory_details_name large_size', 'data-test': 'inventory-item-name', text: product.name }),
+      el('div', { 'class': 'inventory_details_desc large_size', 'data-test': 'inventory-item-desc', text: product.desc }),
+      el('div', { 'class': 'inventory_details_price', 'data-test': 'inventory-item-price', text: money(product.price) }),
+      cartButton(product.id, 'add-to-cart')
+    ]));
+  }
+
+  function cartItemList(withButtons) {
+    var list = el('div', { 'class': 'cart_list' });
+    cartProducts().forEach(function (product) {
+      list.appendChild(el('div', { 'class': 'cart_item', 'data-test': 'inventory-item' }, [
+        el('div', { 'class': 'cart_quantity', 'data-test': 'item-quantity', text: '1' }),
+        el('div', { 'class': 'inventory_item_name', 'data-test': 'inventory-item-name', text: product.name }),
+        el('div', { 'class': 'inventory_item_price', 'data-test': 'inventory-item-price', text: money(product.price) }),
+        withButtons ? cartButton(product.id) : el('span')
+      ]));
+    });
+    return list;
+  }
+
+  function renderCart() {
+    root.appendChild(header('Your Cart'));
+    root.appendChild(cartItemList(true));
+    root.appendChild(el('div', { 'class': 'cart_footer' }, [
+      el('button', { id: 'continue-shopping', type: 'button', text: 'Continue Shopping',
+        onclick: function () { go('inventory.html'); } }),
+      el('button', { id: 'checkout', 'class': 'btn btn_action btn_medium checkout_button', type: 'button', text: 'Checkout',
+        onclick: function () { go('checkout-step-one.html'); } })
+    ]));
+  }
+
+  function renderCheckoutOne() {
+    var first = el('input', { id: 'first-name', placeholder: 'First Name', type: 'text', 'data-test': 'firstName' });
+    var last = el('input', { id: 'last-name', placeholder: 'Last Name', type: 'text', 'data-test': 'lastName' });
+    var postal = el('input', { id: 'postal-code', placeholder: 'Zip/Postal Code', type: 'text', 'data-test': 'postalCode' });
+    var errorSlot = el('div', { 'class': 'error-slot' });
+
+    root.appendChild(header('Checkout: Your Information'));
+    root.appendChild(el('form', {
+      onsubmit: function (e) {
+        e.preventDefault();
+        errorSlot.innerHTML = '';
+        var message = !first.value ? 'Error: First Name is required'
+          : !last.value ? 'Error: Last Name is required'
+          : !postal.value ? 'Error: Postal Code is required' : null;
+        if (message) {
+          errorSlot.appendChild(errorBox(message));
+          return;
+        }
+        go('checkout-step-two.html');
+      }
+    }, [
+      first, last, postal, errorSlot,
+      el('button', { id: 'cancel', type: 'button', text: 'Cancel', onclick: function () { go('cart.html'); } }),
+      el('input', { id: 'continue', 'class': 'submit-button btn btn_primary cart_button btn_action', type: 'submit', value: 'Continue', 'data-test': 'continue' })
+    ]));
+  }
+
+  function renderCheckoutTwo() {
+    var subtotal = cartProducts().reduce(function (sum, p) { return sum + p.price; }, 0);
+    var tax = Math.round(subtotal * 0.08 * 100) / 100;
+
+    root.appendChild(header('Checkout: Overview'));
+    root.appendChild(cartItemList(false));
+    root.appendChild(el('div', { 'class': 'summary_info' }, [
+      el('div', { 'class': 'summary_info_label', text: 'Payment Information:' }),
+      el('div', { 'class': 'summary_value_label', text: 'SauceCard #31337' }),
+      el('div', { 'class': 'summary_subtotal_label', 'data-test': 'subtotal-label', text: 'Item total: ' + money(subtotal) }),
+      el('div', { 'class': 'summary_tax_label', 'data-test': 'tax-label', text: 'Tax: ' + money(tax) }),
+      el('div', { 'class': 'summary_total_label', 'data-test': 'total-label', text: 'Total: ' + money(subtotal + tax) }),
+      el('div', { 'class': 'cart_footer' }, [
+        el('button', { id: 'cancel', type: 'button', text: 'Cancel', onclick: function () { go('inventory.html'); } }),
+        el('button', { id: 'finish', 'class': 'btn btn_action btn_medium cart_button', type: 'button', text: 'Finish',
+          onclick: function () { setCart([]); go('checkout-complete.html'); } })
+      ])
+    ]));
+  }
+
+  function renderComplete() {
+    root.appendChild(header('Checkout: Complete!'));
+    root.appendChild(el('div', { id: 'checkout_complete_container', 'class': 'checkout_complete_container' }, [
+      el('h2', { 'class': 'complete-header', 'data-test': 'complete-header', text: 'Thank you for your order!' }),
+      el('div', { 'class': 'complete-text', text: 'Your order has been dispatched, and will arrive just as fast as the pony can get there!' }),
+      el('button', { id: 'back-to-products', type: 'button', text: 'Back Home', onclick: function () { go('inventory.html'); } })
+    ]));
+  }
+
+  // ============================== ROUTER ==============================
+
+  var pages = {
+    'login': renderLogin,
+    'inventory': renderInventory,
+    'item': renderItem,
+    'cart': renderCart,
+    'checkout-one': renderCheckoutOne,
+    'checkout-two': renderCheckoutTwo,
+    'complete': renderComplete
+  };
+
+  if (page !== 'login' && !getSession()) {
+    go('index.html');
+    return;
+  }
+  (pages[page] || renderLogin)();
+})();
@@ -0,0 +1,301 @@
+package com.kenny.automation.API;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import com.kenny.automation.Helper.ConfigLoader;
+import com.kenny.automation.Helper.LatencyHistogram;
+
+import io.restassured.response.Response;
+
+/**
+ * ApiLoadGenerator menjalankan operasi {@link MasterAPIJsonPlaceholder} sebagai beban (load) dengan
+ * model open: request dikirim sesuai jadwal kedatangan, tidak menunggu request sebelumnya selesai.
+ * <p>
+ * Konfigurasi (lewat {@link ConfigLoader}):
+ * <ul>
+ *   <li>{@code LOAD_RATE} - target request per detik setelah ramp-up (default 50)</li>
+ *   <li>{@code LOAD_RAMP_SECONDS} - durasi ramp-up linear dari 0 ke LOAD_RATE (default 5)</li>
+ *   <li>{@code LOAD_DURATION_SECONDS} - durasi beban penuh setelah ramp-up (default 30)</li>
+ *   <li>{@code LOAD_ARRIVAL} - <code>poisson</code> (jeda acak eksponensial, default) atau <code>constant</code></li>
+ *   <li>{@code LOAD_MIX} - bobot operasi, contoh <code>getPost=60,getAllPosts=10,createPost=15</code></li>
+ *   <li>{@code LOAD_MAX_IN_FLIGHT} - batas request yang sedang berjalan (default 256); kedatangan di atas
+ *       batas ini dicatat sebagai <i>dropped</i> agar generator tidak ikut melambat</li>
+ *   <li>{@code LOAD_ID_RANGE} - id post acak untuk operasi <code>/posts/{id}</code> diambil dari 1 sampai
+ *       nilai ini; default sama dengan {@code STUB_POST_COUNT} (100) agar tidak mengenai id yang tidak ada</li>
+ * </ul>
+ * Latency diukur dari waktu kedatangan yang dijadwalkan (bukan waktu request benar-benar dikirim),
+ * sehingga antrian di sisi client ikut terhitung dan percentile tidak terlihat lebih baik dari
+ * kenyataan (coordinated omission). Hanya request pada fase beban penuh yang masuk ke report.
+ * </p>
+ *
+ * <pre>
+ * LoadReport report = new ApiLoadGenerator().run();
+ * System.out.println(report.toTable());
+ * </pre>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class ApiLoadGenerator {
+
+    private static final String DEFAULT_MIX =
+            "getPost=60,getAllPosts=10,createPost=15,updatePost=10,patchPost=3,deletePost=2";
+
+    /** Id post terbesar yang ada di server, sama dengan jumlah post yang dibuat stub. */
+    private static final int ID_RANGE =
+            Math.max(1, ConfigLoader.getInt("LOAD_ID_RANGE", ConfigLoader.getInt("STUB_POST_COUNT", 100)));
+
+    /** Operasi yang bisa dipakai di LOAD_MIX beserta label endpoint-nya. */
+    private static final Map<String, Operation> OPERATIONS = new LinkedHashMap<>();
+
+    static {
+        OPERATIONS.put("getPost", new Operation("GET /posts/{id}", api -> api.getPost(randomId())));
+        OPERATIONS.put("getAllPosts", new Operation("GET /posts", MasterAPIJsonPlaceholder::getAllPosts));
+        OPERATIONS.put("createPost", new Operation("POST /posts", api -> api.createPost("load", "generated", 1)));
+        OPERATIONS.put("updatePost", new Operation("PUT /posts/{id}",
+                api -> api.updatePost(randomId(), "load", "generated", 1)));
+        OPERATIONS.put("patchPost", new Operation("PATCH /posts/{id}", api -> api.patchPost(randomId(), "load")));
+        OPERATIONS.put("deletePost", new Operation("DELETE /posts/{id}", api -> api.deletePost(randomId())));
+    }
+
+    private final double rate;
+    private final double rampSeconds;
+    private final double durationSeconds;
+    private final boolean poisson;
+    private final int maxInFlight;
+    private final List<Operation> mix = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    public ApiLoadGenerator() {
+        this.rate = Double.parseDouble(ConfigLoader.getOrDefault("LOAD_RATE", "50"));
+        this.rampSeconds = Math.max(0, Double.parseDouble(ConfigLoader.getOrDefault("LOAD_RAMP_SECONDS", "5")));
+        this.durationSeconds = Double.parseDouble(ConfigLoader.getOrDefault("LOAD_DURATION_SECONDS", "30"));
+        this.poisson = !"constant".equalsIgnoreCase(ConfigLoader.getOrDefault("LOAD_ARRIVAL", "poisson"));
+        this.maxInFlight = Math.max(1, ConfigLoader.getInt("LOAD_MAX_IN_FLIGHT", 256));
+        parseMix(ConfigLoader.getOrDefault("LOAD_MIX", DEFAULT_MIX));
+
+        if (rate <= 0 || durationSeconds <= 0) {
+            throw new IllegalArgumentException("LOAD_RATE dan LOAD_DURATION_SECONDS harus lebih dari 0");
+        }
+    }
+
+    private void parseMix(String value) {
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Operation operation = OPERATIONS.get(parts[0].trim());
+            if (operation == null) {
+                throw new IllegalArgumentException("Operasi LOAD_MIX tidak dikenal: " + parts[0]
+                        + " (pilihan: " + OPERATIONS.keySet() + ")");
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight <= 0) continue;
+            totalWeight += weight;
+            mix.add(operation);
+            cumulativeWeights.add(totalWeight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("LOAD_MIX tidak berisi operasi");
+    }
+
+    /**
+     * Menjalankan ramp-up lalu fase beban penuh, menunggu semua request selesai, dan mengembalikan hasilnya.
+     */
+    public LoadReport run() throws InterruptedException {
+        MasterAPIJsonPlaceholder api = new MasterAPIJsonPlaceholder(null);
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (Operation operation : mix) stats.putIfAbsent(operation.endpoint, new EndpointStats(operation.endpoint));
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService workers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "api-load-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        System.out.printf("[LOAD] rate=%.1f/s ramp=%.0fs duration=%.0fs arrival=%s maxInFlight=%d%n",
+                rate, rampSeconds, durationSeconds, poisson ? "poisson" : "constant", maxInFlight);
+
+        double totalSeconds = rampSeconds + durationSeconds;
+        long start = System.nanoTime();
+        double t = 0;
+        while (true) {
+            t += nextGap(currentRate(t));
+            if (t >= totalSeconds) break;
+
+            long intended = start + (long) (t * 1_000_000_000L);
+            waitUntil(intended);
+
+            Operation operation = pickOperation();
+            EndpointStats endpoint = stats.get(operation.endpoint);
+            boolean measured = t >= rampSeconds;
+            if (!inFlight.tryAcquire()) {
+                if (measured) endpoint.dropped.incrementAndGet();
+                continue;
+            }
+            workers.execute(() -> {
+                try {
+                    Response response = operation.call.apply(api);
+                    if (measured) endpoint.record(intended, response.getStatusCode() < 400);
+                } catch (RuntimeException e) {
+                    if (measured) endpoint.record(intended, false);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+            System.err.println("[LOAD] Masih ada request yang belum selesai setelah 60 detik");
+            workers.shutdownNow();
+        }
+        return new LoadReport(new ArrayList<>(stats.values()), durationSeconds);
+    }
+
+    /** Rate saat ramp-up naik linear; minimal 1 request/detik agar jeda awal tidak tak hingga. */
+    private double currentRate(double t) {
+        if (rampSeconds <= 0 || t >= rampSeconds) return rate;
+        return Math.max(Math.min(1.0, rate), rate * t / rampSeconds);
+    }
+
+    private double nextGap(double currentRate) {
+        if (!poisson) return 1.0 / currentRate;
+        return -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) / currentRate;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private Operation pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < mix.size(); i++) {
+            if (roll < cumulativeWeights.get(i)) return mix.get(i);
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private static int randomId() {
+        return ThreadLocalRandom.current().nextInt(1, ID_RANGE + 1);
+    }
+
+    private static class Operation {
+        final String endpoint;
+        final Function<MasterAPIJsonPlaceholder, Response> call;
+
+        Operation(String endpoint, Function<MasterAPIJsonPlaceholder, Response> call) {
+            this.endpoint = endpoint;
+            this.call = call;
+        }
+    }
+
+    /**
+     * Statistik satu endpoint: histogram latency (mikrodetik), jumlah error dan kedatangan yang di-drop.
+     */
+    public static class EndpointStats {
+        private final String endpoint;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(long intendedStart, boolean success) {
+            latency.record((System.nanoTime() - intendedStart) / 1_000);
+            if (!success) errors.incrementAndGet();
+        }
+
+        public String endpoint() {
+            return endpoint;
+        }
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        public long errors() {
+            return errors.get();
+        }
+
+        public long dropped() {
+            return dropped.get();
+        }
+    }
+
+    /**
+     * Hasil satu run load: statistik per endpoint dan durasi fase beban penuh.
+     */
+    public static class LoadReport {
+        private final List<EndpointStats> endpoints;
+        private final double measuredSeconds;
+
+        LoadReport(List<EndpointStats> endpoints, double measuredSeconds) {
+            this.endpoints = endpoints;
+            this.measuredSeconds = measuredSeconds;
+        }
+
+        public List<EndpointStats> endpoints() {
+            return endpoints;
+        }
+
+        public long totalRequests() {
+            return endpoints.stream().mapToLong(e -> e.latency().count()).sum();
+        }
+
+        public long totalErrors() {
+            return endpoints.stream().mapToLong(EndpointStats::errors).sum();
+        }
+
+        public long totalDropped() {
+            return endpoints.stream().mapToLong(EndpointStats::dropped).sum();
+        }
+
+        /** Rasio error + dropped terhadap semua kedatangan pada fase beban penuh. */
+        public double errorRate() {
+            long arrivals = totalRequests() + totalDropped();
+            return arrivals == 0 ? 0 : (double) (totalErrors() + totalDropped()) / arrivals;
+        }
+
+        /** p99 terburuk di antara semua endpoint, dalam milidetik. */
+        public double worstP99Millis() {
+            return endpoints.stream().mapToLong(e -> e.latency().percentile(99)).max().orElse(0) / 1000.0;
+        }
+
+        /**
+         * Tabel teks: request, error, dropped, throughput dan p50/p95/p99/max (ms) per endpoint.
+         */
+        public String toTable() {
+            StringBuilder table = new StringBuilder();
+            table.append(String.format("%-20s %8s %7s %7s %9s %9s %9s %9s %9s%n",
+                    "Endpoint", "Requests", "Errors", "Dropped", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+            for (EndpointStats e : endpoints) {
+                LatencyHistogram h = e.latency();
+                table.append(String.format("%-20s %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        e.endpoint(), h.count(), e.errors(), e.dropped(), h.count() / measuredSeconds,
+                        h.percentile(50) / 1000.0, h.percentile(95) / 1000.0,
+                        h.percentile(99) / 1000.0, h.max() / 1000.0));
+            }
+            table.append(String.format("%-20s %8d %7d %7d %9.1f%n",
+                    "TOTAL", totalRequests(), totalErrors(), totalDropped(), totalRequests() / measuredSeconds));
+            return table.toString();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.kenny.automation.API;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.kenny.automation.Helper.ConfigLoader;
+import com.kenny.automation.Listeners.ExtentNode;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+
+/**
+ * Performance test untuk endpoint /posts memakai {@link ApiLoadGenerator}.
+ * <p>
+ * Gagal jika rasio error melebihi {@code LOAD_MAX_ERROR_RATE} (default 0.01) atau jika
+ * {@code LOAD_P99_SLO_MS} di-set dan p99 salah satu endpoint melebihinya.
+ * </p>
+ */
+public class ApiLoadTest {
+
+	@Epic("API Load Tests")
+	@Feature("POSTS MIX")
+    @Test
+    public void testPostsLoad() throws InterruptedException {
+        ExtentTest test = ExtentNode.getNode();
+
+        ApiLoadGenerator.LoadReport report = new ApiLoadGenerator().run();
+        String table = report.toTable();
+        System.out.println("[LOAD] Hasil fase beban penuh:\n" + table);
+        test.info(MarkupHelper.createCodeBlock(table));
+        Allure.addAttachment("Load Report", table);
+
+        double maxErrorRate = Double.parseDouble(ConfigLoader.getOrDefault("LOAD_MAX_ERROR_RATE", "0.01"));
+        Assert.assertTrue(report.errorRate() <= maxErrorRate,
+                String.format("Error rate %.4f melebihi batas %.4f", report.errorRate(), maxErrorRate));
+
+        double p99Slo = Double.parseDouble(ConfigLoader.getOrDefault("LOAD_P99_SLO_MS", "0"));
+        if (p99Slo > 0) {
+            Assert.assertTrue(report.worstP99Millis() <= p99Slo,
+                    String.format("p99 %.2f ms melebihi SLO %.2f ms", report.worstP99Millis(), p99Slo));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.kenny.automation.API;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+import io.restassured.response.Response;
+
+/**
+ * ApiTransport adalah lapisan pengiriman HTTP yang dipakai {@link BaseTestAPIJsonPlaceholder}.
+ * <p>
+ * Dipilih dengan {@code API_TRANSPORT}:
+ * <ul>
+ *   <li>{@code restassured} (default) - {@link RestAssuredTransport}, perilaku lama.</li>
+ *   <li>{@code jdk} - {@link JdkHttpTransport}, satu {@link java.net.http.HttpClient} bersama dengan
+ *       HTTP/2 dan {@code sendAsync}, tanpa overhead filter/Groovy REST Assured per request.</li>
+ * </ul>
+ * Kedua transport mengembalikan {@link Response} REST Assured sehingga assertion di test
+ * (<code>getStatusCode()</code>, <code>jsonPath()</code>, dst.) tidak perlu diubah.
+ * </p>
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public interface ApiTransport {
+
+    /**
+     * Mengirim request secara asynchronous.
+     *
+     * @param method   HTTP method (GET, POST, PUT, PATCH, DELETE)
+     * @param endpoint path relatif terhadap base URL, contoh <code>/posts/1</code>
+     * @param body     body JSON, atau null jika tanpa body
+     * @return future yang selesai dengan response
+     */
+    CompletableFuture<Response> sendAsync(String method, String endpoint, String body);
+
+    /**
+     * Mengirim request dan menunggu response.
+     */
+    default Response send(String method, String endpoint, String body) {
+        return sendAsync(method, endpoint, body).join();
+    }
+
+    /**
+     * Membuat transport sesuai setting {@code API_TRANSPORT}.
+     *
+     * @param baseUrl base URL API
+     * @return transport yang dipilih
+     */
+    static ApiTransport create(String baseUrl) {
+        String type = ConfigLoader.getOrDefault("API_TRANSPORT", "restassured");
+        if ("jdk".equalsIgnoreCase(type)) {
+            return new JdkHttpTransport(baseUrl);
+        }
+        if (!"restassured".equalsIgnoreCase(type)) {
+            System.err.println(" API_TRANSPORT '" + type + "' tidak dikenali. Default ke restassured.");
+        }
+        return new RestAssuredTransport(baseUrl);
+    }
+}
@@ -1,108 +1,76 @@
 package com.kenny.automation.API;
 
-import static io.restassured.RestAssured.given;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.aventstack.extentreports.ExtentTest;
+import com.kenny.automation.Config.ApiConnectionStats;
+import com.kenny.automation.Config.JsonPlaceholderStub;
+import com.kenny.automation.Helper.ConfigLoader;
 import com.kenny.automation.Listeners.ApiLogHelper;
 
-import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.http.ContentType;
 import io.restassured.response.Response;
-import io.restassured.specification.RequestSpecification;
 
 /**
  * BaseTestAPI untuk JSONPlaceholder tanpa autentikasi.
+ * <p>
+ * Request dikirim lewat {@link ApiTransport} yang dipilih dengan {@code API_TRANSPORT}
+ * (REST Assured atau JDK HttpClient). Transport (spec dan pool koneksi keep-alive) dibuat sekali
+ * per base URL dan dipakai bersama oleh semua test dan worker thread; yang dibuat per test hanya
+ * logger-nya. Jika <code>test</code> bernilai null (contoh: mode load),
+ * request tidak dicatat ke report.
+ * </p>
  */
 public class BaseTestAPIJsonPlaceholder {
 
-    private final RequestSpecification spec;
+    /** Transport bersama per base URL, thread-safe. */
+    private static final Map<String, ApiTransport> TRANSPORTS = new ConcurrentHashMap<>();
+
+    private final ApiTransport transport;
     private final ApiLogHelper apiLogger;
-    private static final String BASE_URL = "https://jsonplaceholder.typicode.com";
+    private static final String DEFAULT_BASE_URL = "https://jsonplaceholder.typicode.com";
 
     public BaseTestAPIJsonPlaceholder(ExtentTest test) {
-        this.apiLogger = new ApiLogHelper(test);
+        this.apiLogger = test == null ? null : new ApiLogHelper(test);
+        this.transport = TRANSPORTS.computeIfAbsent(baseUrl(), ApiTransport::create);
+    }
 
-        this.spec = new RequestSpecBuilder()
-                .setBaseUri(BASE_URL)
-                .setContentType(ContentType.JSON)
-                .build();
+    /**
+     * Base URL dari {@code API_BASE_URL}. Value <code>stub</code> menjalankan
+     * {@link JsonPlaceholderStub} in-process sehingga test bisa berjalan offline.
+     */
+    public static String baseUrl() {
+        String url = ConfigLoader.getOrDefault("API_BASE_URL", DEFAULT_BASE_URL);
+        return "stub".equalsIgnoreCase(url) ? JsonPlaceholderStub.start() : url;
     }
 
     public Response get(String endpoint) {
-        apiLogger.logRequest("GET", endpoint, null, null);
-
-        Response response = given()
-                .spec(spec)
-                .when()
-                .get(endpoint)
-                .then()
-                .extract()
-                .response();
-
-        apiLogger.logResponse(response);
-        return response;
+        return send("GET", endpoint, null);
     }
 
     public Response post(String endpoint, String body) {
-        apiLogger.logRequest("POST", endpoint, null, body);
-
-        Response response = given()
-                .spec(spec)
-                .body(body)
-                .when()
-                .post(endpoint)
-                .then()
-                .extract()
-                .response();
-
-        apiLogger.logResponse(response);
-        return response;
+        return send("POST", endpoint, body);
     }
 
     public Response put(String endpoint, String body) {
-        apiLogger.logRequest("PUT", endpoint, null, body);
-
-        Response response = given()
-                .spec(spec)
-                .body(body)
-                .when()
-                .put(endpoint)
-                .then()
-                .extract()
-                .response();
-
-        apiLogger.logResponse(response);
-        return response;
+        return send("PUT", endpoint, body);
     }
 
     public Response patch(String endpoint, String body) {
-        apiLogger.logRequest("PATCH", endpoint, null, body);
-
-        Response response = given()
-                .spec(spec)
-                .body(body)
-                .when()
-                .patch(endpoint)
-                .then()
-                .extract()
-                .response();
-
-        apiLogger.logResponse(response);
-        return response;
+        return send("PATCH", endpoint, body);
     }
 
     public Response delete(String endpoint) {
-        apiLogger.logRequest("DELETE", endpoint, null, null);
+        return send("DELETE", endpoint, null);
+    }
+
+    private Response send(String method, String endpoint, String body) {
+        if (apiLogger != null) apiLogger.logRequest(method, endpoint, null, body);
 
-        Response response = given()
-                .spec(spec)
-                .when()
-                .delete(endpoint)
-                .then()
-                .extract()
-                .response();
+        ApiConnectionStats.requestSent();
+        Response response = transport.send(method, endpoint, body);
 
-        apiLogger.logResponse(response);
+        if (apiLogger != null) apiLogger.logResponse(response);
         return response;
     }
 }
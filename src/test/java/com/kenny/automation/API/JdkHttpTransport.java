@@ -0,0 +1,101 @@
+package com.kenny.automation.API;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.kenny.automation.Helper.ConfigLoader;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+/**
+ * Transport berbasis {@link HttpClient} JDK.
+ * <p>
+ * Satu {@link HttpClient} dipakai bersama oleh semua test di JVM sehingga koneksi (dan stream
+ * HTTP/2 pada server yang mendukung) dipakai ulang. Request dikirim dengan
+ * {@link HttpClient#sendAsync}; response diadaptasi menjadi {@link Response} REST Assured lewat
+ * {@link ResponseBuilder} agar assertion yang sama tetap berlaku. Server yang hanya mendukung
+ * HTTP/1.1 tetap dilayani secara otomatis. Ukuran pool dan durasi keep-alive mengikuti
+ * {@code API_POOL_SIZE} dan {@code API_KEEP_ALIVE_SECONDS}.
+ * </p>
+ */
+public class JdkHttpTransport implements ApiTransport {
+
+    static {
+        // Dibaca JDK saat HttpClient pertama dibuat, jadi harus di-set sebelum CLIENT
+        if (System.getProperty("jdk.httpclient.connectionPoolSize") == null) {
+            System.setProperty("jdk.httpclient.connectionPoolSize", String.valueOf(ConfigLoader.getInt("API_POOL_SIZE", 32)));
+        }
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(ConfigLoader.getInt("API_KEEP_ALIVE_SECONDS", 30)));
+        }
+    }
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(ConfigLoader.getInt("API_CONNECT_TIMEOUT_SECONDS", 10)))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(ConfigLoader.getInt("API_REQUEST_TIMEOUT_SECONDS", 30));
+
+    private final String baseUrl;
+
+    public JdkHttpTransport(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(String method, String endpoint, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json, */*");
+
+        if (body != null) {
+            request.header("Content-Type", "application/json; charset=UTF-8")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        return CLIENT.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(JdkHttpTransport::toResponse);
+    }
+
+    @Override
+    public Response send(String method, String endpoint, String body) {
+        try {
+            return sendAsync(method, endpoint, body).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IllegalStateException("Request " + method + " " + endpoint + " gagal: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> response) {
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            for (String value : values) {
+                headers.add(new Header(name, value));
+            }
+        });
+
+        String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine(protocol + " " + response.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(response.body());
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.kenny.automation.API;
+
+import static io.restassured.RestAssured.given;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import com.kenny.automation.Config.ApiConnectionStats;
+import com.kenny.automation.Helper.ConfigLoader;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Transport berbasis REST Assured (default).
+ * <p>
+ * Secara default REST Assured membuat HttpClient baru (dan koneksi baru) untuk setiap request.
+ * Di sini semua request memakai satu pool koneksi keep-alive bersama ({@code API_POOL_SIZE},
+ * {@code API_KEEP_ALIVE_SECONDS}) dengan timeout dari {@code API_CONNECT_TIMEOUT_SECONDS} dan
+ * {@code API_REQUEST_TIMEOUT_SECONDS}. Koneksi baru dicatat di {@link ApiConnectionStats}.
+ * </p>
+ */
+@SuppressWarnings("deprecation") // REST Assured 5 masih mensyaratkan AbstractHttpClient (API lama HttpClient 4)
+public class RestAssuredTransport implements ApiTransport {
+
+    private static final SharedConnectionManager CONNECTIONS = new SharedConnectionManager();
+    private static final int CONNECT_TIMEOUT_MS = ConfigLoader.getInt("API_CONNECT_TIMEOUT_SECONDS", 10) * 1000;
+    private static final int REQUEST_TIMEOUT_MS = ConfigLoader.getInt("API_REQUEST_TIMEOUT_SECONDS", 30) * 1000;
+    private static final long KEEP_ALIVE_MS = ConfigLoader.getInt("API_KEEP_ALIVE_SECONDS", 30) * 1000L;
+
+    private final RequestSpecification spec;
+
+    public RestAssuredTransport(String baseUrl) {
+        RestAssuredConfig config = RestAssuredConfig.config().httpClient(
+                HttpClientConfig.httpClientConfig().httpClientFactory(RestAssuredTransport::newClient));
+
+        this.spec = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setContentType(ContentType.JSON)
+                .setConfig(config)
+                .build();
+    }
+
+    /**
+     * Dipanggil REST Assured untuk setiap request. Objek client murah dibuat; koneksinya
+     * diambil dari pool bersama.
+     */
+    private static AbstractHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTIONS);
+        HttpParams params = client.getParams();
+        HttpConnectionParams.setConnectionTimeout(params, CONNECT_TIMEOUT_MS);
+        HttpConnectionParams.setSoTimeout(params, REQUEST_TIMEOUT_MS);
+        client.setKeepAliveStrategy((response, context) -> KEEP_ALIVE_MS);
+        return client;
+    }
+
+    @Override
+    public Response send(String method, String endpoint, String body) {
+        RequestSpecification request = given().spec(spec);
+        if (body != null) {
+            request.body(body);
+        }
+
+        Response response = request
+                .when()
+                .request(method, endpoint)
+                .then()
+                .extract()
+                .response();
+
+        // Body dibaca REST Assured secara lazy; koneksi baru kembali ke pool setelah body habis dibaca
+        response.asByteArray();
+        return response;
+    }
+
+    /** REST Assured bersifat blocking; future sudah selesai saat dikembalikan. */
+    @Override
+    public CompletableFuture<Response> sendAsync(String method, String endpoint, String body) {
+        return CompletableFuture.completedFuture(send(method, endpoint, body));
+    }
+
+    /**
+     * Pool koneksi yang dipakai bersama oleh semua test. REST Assured memanggil
+     * {@link #shutdown()} setelah setiap request jika client tidak di-reuse, sehingga shutdown
+     * diabaikan; koneksi ditutup saat JVM selesai.
+     */
+    private static class SharedConnectionManager extends PoolingClientConnectionManager {
+
+        SharedConnectionManager() {
+            super(SchemeRegistryFactory.createDefault());
+            int size = Math.max(1, ConfigLoader.getInt("API_POOL_SIZE", 32));
+            setMaxTotal(size);
+            setDefaultMaxPerRoute(size);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry registry) {
+            return new DefaultClientConnectionOperator(registry) {
+                @Override
+                public void openConnection(OperatedClientConnection connection, HttpHost target,
+                        InetAddress local, HttpContext context, HttpParams params) throws IOException {
+                    super.openConnection(connection, target, local, context, params);
+                    ApiConnectionStats.connectionOpened();
+                }
+            };
+        }
+
+        @Override
+        public void shutdown() {
+            // Dipakai bersama, jangan ditutup per request
+        }
+    }
+}
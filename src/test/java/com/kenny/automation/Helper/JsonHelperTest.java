@@ -0,0 +1,106 @@
+package com.kenny.automation.Helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test untuk {@link JsonHelper}: batas baris/karakter, input tidak valid dan JSON dengan
+ * beberapa root value.
+ */
+public class JsonHelperTest {
+
+    private static final int MAX_CHARS = ConfigLoader.getInt("JSON_PRETTY_MAX_CHARS", 1024 * 1024);
+    private static final String OBJECT = "{\"a\":1,\"b\":2,\"c\":3,\"d\":4,\"e\":5}";
+
+    private static String prettyPrint(String json, long maxChars, int maxLines) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonHelper.prettyPrint(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out, maxChars, maxLines);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testPrettyPrintValidJson() {
+        String pretty = JsonHelper.prettyPrint(OBJECT);
+        Assert.assertTrue(pretty.startsWith("{\n"), pretty);
+        Assert.assertTrue(pretty.contains("\"e\" : 5"), pretty);
+        Assert.assertEquals(JsonHelper.prettyPrint(OBJECT.getBytes(StandardCharsets.UTF_8)), pretty);
+    }
+
+    @Test
+    public void testNullInput() {
+        Assert.assertNull(JsonHelper.prettyPrint((String) null));
+        Assert.assertNull(JsonHelper.prettyPrint((byte[]) null));
+    }
+
+    @Test
+    public void testLineCap() throws IOException {
+        String pretty = prettyPrint(OBJECT, 0, 3);
+        String kept = pretty.substring(0, pretty.indexOf("\n... [terpotong"));
+        Assert.assertEquals(kept.split("\n", -1).length, 3, pretty);
+        Assert.assertTrue(pretty.endsWith("[terpotong: melebihi batas 3 baris]"), pretty);
+    }
+
+    @Test
+    public void testCharCap() throws IOException {
+        String full = prettyPrint(OBJECT, 0, 0);
+        String pretty = prettyPrint(OBJECT, 20, 0);
+        Assert.assertEquals(pretty, full.substring(0, 20) + "\n... [terpotong: melebihi batas 20 karakter]");
+    }
+
+    @Test
+    public void testCharCapDoesNotSplitSurrogatePair() throws IOException {
+        // "[\"" = 2 karakter, batas 3 jatuh di tengah emoji (2 char UTF-16)
+        String pretty = prettyPrint("[\"😀\"]", 3, 0);
+        Assert.assertTrue(pretty.startsWith("[ \"\n"), pretty);
+    }
+
+    @Test
+    public void testInvalidStringReturnedAsIs() {
+        String text = "bukan json {";
+        Assert.assertEquals(JsonHelper.prettyPrint(text), text);
+    }
+
+    @Test
+    public void testInvalidStringTruncatedByChars() {
+        String text = "x".repeat(MAX_CHARS + 10);
+        String result = JsonHelper.prettyPrint(text);
+        Assert.assertEquals(result, "x".repeat(MAX_CHARS) + "\n... [terpotong: melebihi batas " + MAX_CHARS + " karakter]");
+    }
+
+    @Test
+    public void testInvalidBytesKeepMultiByteCharacters() {
+        // Jumlah karakter di bawah batas, tetapi jumlah byte melebihinya
+        String text = "x" + "é".repeat(MAX_CHARS / 2 + 10);
+        Assert.assertEquals(JsonHelper.prettyPrint(text.getBytes(StandardCharsets.UTF_8)), text);
+    }
+
+    @Test
+    public void testInvalidBytesTruncatedOnCharacterBoundary() {
+        String text = "x" + "€".repeat(MAX_CHARS + 10);
+        String result = JsonHelper.prettyPrint(text.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(result, text.substring(0, MAX_CHARS) + "\n... [terpotong: melebihi batas " + MAX_CHARS + " karakter]");
+        Assert.assertFalse(result.contains("�"));
+    }
+
+    @Test
+    public void testInvalidStreamMarked() throws IOException {
+        String pretty = prettyPrint("{\"a\":1,", 0, 0);
+        Assert.assertTrue(pretty.startsWith("{\n  \"a\" : 1"), pretty);
+        Assert.assertTrue(pretty.contains("... [JSON tidak valid:"), pretty);
+    }
+
+    @Test
+    public void testMultipleRootValues() throws IOException {
+        String json = "{\"a\":1} {\"b\":2}\n[3]";
+        String pretty = JsonHelper.prettyPrint(json);
+        Assert.assertTrue(pretty.contains("\"a\" : 1"), pretty);
+        Assert.assertTrue(pretty.contains("\"b\" : 2"), pretty);
+        Assert.assertTrue(pretty.endsWith("[ 3 ]"), pretty);
+        Assert.assertEquals(prettyPrint(json, 0, 0), pretty);
+    }
+}
@@ -1,10 +1,16 @@
 package com.kenny.automation.Web;
 
+import org.testng.ITestContext;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
+import com.kenny.automation.Config.BrowserContextDriverFactory;
+import com.kenny.automation.Config.BrowserProfile;
 import com.kenny.automation.Config.ChromeDriverFactory;
+import com.kenny.automation.Config.ChromeProfile;
+import com.kenny.automation.Config.DriverFactory;
 import com.kenny.automation.Config.WebDriverManager;
+import com.kenny.automation.Config.WebDriverPool;
 import com.kenny.automation.Helper.ConfigLoader;
 
 import org.openqa.selenium.WebDriver;
@@ -17,7 +23,13 @@ import org.openqa.selenium.WebDriver;
  * </p>
  * <p>
  * Driver yang digunakan dikelola oleh {@link WebDriverManager}, sehingga setiap thread memiliki instance
- * driver yang aman untuk parallel test execution.
+ * driver yang aman untuk parallel test execution. Driver dipinjam dari {@link WebDriverPool} sehingga
+ * browser yang sudah berjalan dipakai ulang antar test method.
+ * </p>
+ * <p>
+ * Driver, page object dan soft-assert milik satu invocation disimpan di {@link PageContext} yang
+ * diambil lewat {@link #page()}. Test class tidak menyimpan state di field, sehingga baris data
+ * provider maupun method bisa dijalankan paralel pada instance test class yang sama.
  * </p>
  * @author Kenny Ramadhan
  * @version 1.0
@@ -25,41 +37,104 @@ import org.openqa.selenium.WebDriver;
 public class BaseTest {
 
     /**
-     * Instance WebDriver yang akan digunakan di test case turunannya.
+     * Context milik invocation yang sedang berjalan di thread ini.
      */
-    protected WebDriver driver;
+    private final ThreadLocal<PageContext> pageContext = new ThreadLocal<>();
 
     /**
      * Menyiapkan WebDriver sebelum setiap metode test dijalankan.
      * <p>
-     * - Menginisialisasi WebDriver melalui {@link WebDriverManager} menggunakan {@link ChromeDriverFactory}.
-     * - Memaksimalkan jendela browser.
+     * - Meminjam WebDriver melalui {@link WebDriverManager} menggunakan factory dari
+     *   {@link #createFactory(ChromeProfile)} dengan profil dari {@link #resolveProfile(ITestContext)}.
+     * - Memaksimalkan jendela browser (profil FULL) atau memakai viewport tetap (profil PERFORMANCE).
      * - Membuka URL default aplikasi (https://www.saucedemo.com).
+     * - Menyiapkan {@link PageContext} baru untuk invocation ini.
      * </p>
-     * @throws InterruptedException 
+     * @param context context TestNG, untuk membaca parameter suite
      */
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
-        WebDriverManager.initDriver(new ChromeDriverFactory());
-        driver = WebDriverManager.getDriver();
-        driver.manage().window().maximize();
+    public void setUp(ITestContext context) {
+        ChromeProfile profile = resolveProfile(context);
+        WebDriverManager.initDriver(createFactory(profile));
+        WebDriver driver = WebDriverManager.getDriver();
+        pageContext.set(new PageContext(driver, profile));
+        if (profile.viewport() != null) {
+            driver.manage().window().setSize(profile.viewport());
+        } else {
+            driver.manage().window().maximize();
+        }
         driver.get(ConfigLoader.getActiveEnvironmentUrl());
     }
 
     /**
-     * Menutup dan membersihkan WebDriver setelah setiap metode test selesai dijalankan.
+     * Mengambil {@link PageContext} milik invocation yang sedang berjalan.
+     *
+     * @return context berisi driver, page object dan soft-assert untuk invocation ini
+     */
+    protected PageContext page() {
+        PageContext context = pageContext.get();
+        if (context == null) {
+            throw new IllegalStateException("PageContext belum dibuat, pastikan setUp() sudah dijalankan");
+        }
+        return context;
+    }
+
+    /**
+     * Menentukan profil browser dengan urutan prioritas (sama seperti {@code SCREENSHOT_POLICY}):
+     * command line <code>-DBROWSER_PROFILE=...</code>, anotasi {@link BrowserProfile} di test class,
+     * parameter suite {@code BROWSER_PROFILE}, lalu environment variable atau config.properties.
+     *
+     * @param context context TestNG
+     * @return profil browser yang dipakai
+     */
+    protected ChromeProfile resolveProfile(ITestContext context) {
+        String commandLine = System.getProperty("BROWSER_PROFILE");
+        if (commandLine != null) {
+            return ChromeProfile.from(commandLine);
+        }
+        BrowserProfile annotation = getClass().getAnnotation(BrowserProfile.class);
+        if (annotation != null) {
+            return annotation.value();
+        }
+        String suiteValue = context.getCurrentXmlTest().getParameter("BROWSER_PROFILE");
+        if (suiteValue != null) {
+            return ChromeProfile.from(suiteValue);
+        }
+        return ChromeProfile.from(ConfigLoader.getOrDefault("BROWSER_PROFILE", "full"));
+    }
+
+    /**
+     * Memilih factory sesuai setting {@code BROWSER_ISOLATION}: {@code process} (default, satu proses
+     * Chrome per sesi) atau {@code context} (banyak browser context terisolasi dalam satu proses Chrome).
+     *
+     * @param profile profil browser
+     * @return factory driver
+     */
+    protected DriverFactory createFactory(ChromeProfile profile) {
+        if ("context".equalsIgnoreCase(ConfigLoader.getOrDefault("BROWSER_ISOLATION", "process"))) {
+            return new BrowserContextDriverFactory(profile);
+        }
+        return new ChromeDriverFactory(profile);
+    }
+
+    /**
+     * Mengakhiri sesi WebDriver setelah setiap metode test selesai dijalankan.
      * <p>
-     * Memastikan driver dihentikan dengan benar dan dihapus dari {@link WebDriverManager} untuk
-     * mencegah memory leak.
+     * Secara default driver dikembalikan ke {@link WebDriverPool} dan dihapus dari {@link WebDriverManager}
+     * untuk mencegah memory leak. Dengan {@code -DDRIVER_LIFECYCLE=reuse}, browser tetap hidup dan hanya
+     * di-reset (cookies, storage, window, viewport, URL); jika reset gagal, browser di-restart penuh.
      * </p>
      */
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
+        PageContext context = pageContext.get();
         try {
-            WebDriverManager.quitDriver();  
-            System.out.println("Driver closed and removed successfully.");
+            WebDriverManager.endSession(ConfigLoader.getActiveEnvironmentUrl(),
+                    context == null ? null : context.profile().viewport());
         } catch (Exception e) {
             System.out.println("Warning during driver quit: " + e.getMessage());
+        } finally {
+            pageContext.remove();
         }
     }
 }
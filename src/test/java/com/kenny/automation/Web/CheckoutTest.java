@@ -5,7 +5,6 @@ import org.testng.Assert;
 import java.util.Map;
 
 
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.asserts.SoftAssert;
 
@@ -36,33 +35,17 @@ import io.qameta.allure.SeverityLevel;
  */
 public class CheckoutTest extends BaseTest {
 	
-	private Login login;
-	private Dashboard dashboard;
-	private Checkout checkout;
-	private SoftAssert softAssert;
-
-	
-	  /**
-     * Inisialisasi objek Page Object sebelum setiap test method dijalankan.
-     */
-	@BeforeMethod(alwaysRun = true)
-	public void setUpPage() {
-
-		login = new Login();
-		dashboard = new Dashboard();
-		checkout = new Checkout();
-		softAssert = new SoftAssert();
-	}
-	
 	
 	/**
 	 * Provider data untuk membaca file excel maupun csv, gunakan path dan sheet
-	 * name untuk excel dan gunakan path file serta kosongkan sheet name untuk csv
+	 * name untuk excel dan gunakan path file serta kosongkan sheet name untuk csv.
+	 * Setiap baris dijalankan paralel; page object dan soft-assert diambil dari
+	 * {@link PageContext} milik masing-masing invocation.
 	 * 
 	 * @return csv files/excel files
 	 * @throws CsvException
 	 */
-	@DataProvider(name = "csvData")
+	@DataProvider(name = "csvData", parallel = true)
 	public Object[][] getCsvData() throws CsvException {
 		String csvPath = System.getProperty("user.dir")
 				+ "/src/main/java/com/kenny/automation/Resources/data.csv";
@@ -106,7 +89,10 @@ public class CheckoutTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(dataProvider = "csvData")
 	public void addProductToCartFromDetailProduct(Map<String, String> data) {
-		
+		Login login = page().login();
+		Dashboard dashboard = page().dashboard();
+		SoftAssert softAssert = page().softAssert();
+
 		login.performLoginWithHardcoded("standard_user");
         softAssert.assertTrue(login.isLoginSuccess(), "Login gagal padahal user valid.");
 		dashboard.selectProduct(data.get("productname"));
@@ -154,6 +140,10 @@ public class CheckoutTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(dataProvider = "csvData")
 	public void verifyResetAppState(Map<String, String> data) {
+		Login login = page().login();
+		Dashboard dashboard = page().dashboard();
+		SoftAssert softAssert = page().softAssert();
+
 		login.performLoginWithHardcoded("standard_user");
         softAssert.assertTrue(login.isLoginSuccess(), "Login gagal padahal user valid.");
 		dashboard.selectAllProductsToCart();
@@ -229,7 +219,10 @@ public class CheckoutTest extends BaseTest {
 	@Severity(SeverityLevel.CRITICAL)
 	@Test(dataProvider = "csvData")
 	public void flowCheckoutProductsE2E(Map<String, String> data) {
-		
+		Login login = page().login();
+		Dashboard dashboard = page().dashboard();
+		Checkout checkout = page().checkout();
+		SoftAssert softAssert = page().softAssert();
 
 	    try {
 	    	login.performLoginWithHardcoded("standard_user");
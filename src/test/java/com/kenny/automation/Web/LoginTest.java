@@ -5,7 +5,6 @@ import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.util.Map;
 
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.asserts.SoftAssert;
 
@@ -23,16 +22,7 @@ import io.qameta.allure.SeverityLevel;
 @Feature("Authentication")
 public class LoginTest extends BaseTest {
 
-    private Login login;
-    private SoftAssert softAssert;
-
-    @BeforeMethod
-    public void setUpPage() {
-        login = new Login();
-        softAssert = new SoftAssert();
-    }
-
-    @DataProvider(name = "csvData")
+    @DataProvider(name = "csvData", parallel = true)
     public Object[][] getCSVData() throws CsvException {
         String csvPath = System.getProperty("user.dir")
                 + "/src/main/java/com/kenny/automation/Resources/data.csv";
@@ -43,6 +33,8 @@ public class LoginTest extends BaseTest {
     @Test(dataProvider = "csvData")
     public void testLoginWithDataDrivenTesting(Map<String, String> data)
             throws MalformedURLException, URISyntaxException {
+        Login login = page().login();
+        SoftAssert softAssert = page().softAssert();
 
         String username = data.get("username");
         String password = data.get("password");
@@ -50,7 +42,7 @@ public class LoginTest extends BaseTest {
         login.performLogin(username, password);
 
         if (login.isLoginFailed()) {
-            LogHelper.detail("Login gagal dengan user: " + username + " → Pesan: " + login.getErrorMessage());
+            LogHelper.keyDetail("Login gagal dengan user: " + username + " → Pesan: " + login.getErrorMessage());
             softAssert.fail("Login gagal dengan user: " + username);
         } else {
             softAssert.assertTrue(login.isLoginSuccess(),
@@ -63,6 +55,8 @@ public class LoginTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Test
     public void loginWithValidCredentials() {
+        Login login = page().login();
+        SoftAssert softAssert = page().softAssert();
         login.performLoginWithHardcoded("standard_user");
         softAssert.assertTrue(login.isLoginSuccess(), "Login gagal padahal user valid.");
         softAssert.assertAll();
@@ -71,6 +65,8 @@ public class LoginTest extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Test
     public void loginWithInvalidCredentials() {
+        Login login = page().login();
+        SoftAssert softAssert = page().softAssert();
     	login.performLogin("invalid_username", "wrong_password");
         softAssert.assertTrue(login.isLoginFailed(), "Login berhasil padahal user invalid.");
         softAssert.assertAll();
@@ -0,0 +1,67 @@
+package com.kenny.automation.Web;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.asserts.SoftAssert;
+
+import com.kenny.automation.Config.ChromeProfile;
+import com.kenny.automation.Page.Checkout;
+import com.kenny.automation.Page.Dashboard;
+import com.kenny.automation.Page.Login;
+
+/**
+ * PageContext membungkus semua state milik satu invocation test: driver, profil browser,
+ * page object dan {@link SoftAssert}.
+ * <p>
+ * Satu instance dibuat oleh {@link BaseTest} untuk setiap invocation (termasuk setiap baris
+ * data provider) dan hanya terlihat oleh thread yang menjalankan invocation tersebut lewat
+ * {@link BaseTest#page()}. Dengan begitu baris data provider bisa dijalankan paralel
+ * (<code>@DataProvider(parallel = true)</code>) tanpa saling menimpa field di test class.
+ * </p>
+ * Page object dibuat saat pertama kali diminta, sehingga test yang hanya memakai halaman
+ * login tidak membuat page object lain.
+ *
+ * @author Kenny Ramadhan
+ * @version 1.0
+ */
+public class PageContext {
+
+    private final WebDriver driver;
+    private final ChromeProfile profile;
+    private final SoftAssert softAssert = new SoftAssert();
+
+    private Login login;
+    private Dashboard dashboard;
+    private Checkout checkout;
+
+    public PageContext(WebDriver driver, ChromeProfile profile) {
+        this.driver = driver;
+        this.profile = profile;
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    public ChromeProfile profile() {
+        return profile;
+    }
+
+    public SoftAssert softAssert() {
+        return softAssert;
+    }
+
+    public Login login() {
+        if (login == null) login = new Login();
+        return login;
+    }
+
+    public Dashboard dashboard() {
+        if (dashboard == null) dashboard = new Dashboard();
+        return dashboard;
+    }
+
+    public Checkout checkout() {
+        if (checkout == null) checkout = new Checkout();
+        return checkout;
+    }
+}